@@ -0,0 +1,179 @@
+package com.yourcompany.multitenant.build;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Build step run by Maven in {@code process-classes} over {@code target/classes/static}
+ * (run with the JDK source launcher, see pom.xml):
+ *
+ * <ol>
+ *   <li>Rewrites local script/stylesheet references in HTML pages to fingerprinted
+ *       {@code /assets/name-<md5>.ext} URLs. The hash is the same content MD5 Spring's
+ *       {@code VersionResourceResolver} checks, so the server resolves them without a
+ *       manifest and serves them with {@code Cache-Control: immutable}.</li>
+ *   <li>Writes {@code .gz} and {@code .br} siblings of every text asset at maximum
+ *       compression, which {@code EncodedResourceResolver} serves instead of compressing
+ *       on each request. Brotli needs brotli4j's native library; without it only gzip
+ *       variants are written.</li>
+ * </ol>
+ *
+ * Safe to re-run over its own output: already fingerprinted references are re-hashed.
+ */
+public final class StaticAssetPipeline {
+
+    private static final Set<String> TEXT_EXTENSIONS = Set.of("html", "js", "css", "svg", "json", "txt", "xml");
+    private static final int MIN_COMPRESS_BYTES = 512;
+
+    // src/href pointing at a local .js/.css file, optionally already fingerprinted by a previous run
+    private static final Pattern ASSET_REF = Pattern.compile(
+            "(src|href)=\"(?:/assets/)?([\\w.-]+?)(?:-[0-9a-f]{32})?\\.(js|css)\"");
+
+    private StaticAssetPipeline() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("usage: StaticAssetPipeline <static-dir>");
+            System.exit(2);
+        }
+        Path root = Path.of(args[0]);
+        if (!Files.isDirectory(root)) {
+            System.out.println("[assets] " + root + " does not exist, nothing to do");
+            return;
+        }
+
+        Brotli brotli = Brotli.load();
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(p -> TEXT_EXTENSIONS.contains(extension(p)))
+                    .sorted()
+                    .toList();
+        }
+
+        Map<String, String> versions = new TreeMap<>();
+        for (Path file : files) {
+            if (file.getParent().equals(root) && !extension(file).equals("html")) {
+                versions.put(root.relativize(file).toString(), md5(Files.readAllBytes(file)));
+            }
+        }
+
+        long original = 0;
+        long gzipped = 0;
+        long brotlied = 0;
+        for (Path file : files) {
+            if (extension(file).equals("html")) {
+                rewriteReferences(file, versions);
+            }
+            byte[] content = Files.readAllBytes(file);
+            original += content.length;
+            gzipped += writeVariant(file, ".gz", content, gzip(content));
+            if (brotli != null) {
+                brotlied += writeVariant(file, ".br", content, brotli.compress(content));
+            }
+        }
+
+        System.out.printf("[assets] %d files, %d fingerprinted, %d bytes -> gzip %d%s%n",
+                files.size(), versions.size(), original, gzipped,
+                brotli == null ? " (brotli unavailable)" : ", brotli " + brotlied);
+    }
+
+    private static void rewriteReferences(Path html, Map<String, String> versions) throws IOException {
+        String page = Files.readString(html, StandardCharsets.UTF_8);
+        Matcher matcher = ASSET_REF.matcher(page);
+        StringBuilder out = new StringBuilder(page.length());
+        while (matcher.find()) {
+            String name = matcher.group(2) + "." + matcher.group(3);
+            String version = versions.get(name);
+            String replacement = version == null
+                    ? matcher.group()
+                    : matcher.group(1) + "=\"/assets/" + matcher.group(2) + "-" + version + "." + matcher.group(3) + "\"";
+            matcher.appendReplacement(out, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(out);
+        Files.writeString(html, out, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the variant when it is worth serving; otherwise removes a stale one.
+     *
+     * @return bytes served for this file after the step
+     */
+    private static long writeVariant(Path file, String suffix, byte[] content, byte[] compressed) throws IOException {
+        Path variant = file.resolveSibling(file.getFileName() + suffix);
+        if (content.length < MIN_COMPRESS_BYTES || compressed.length >= content.length) {
+            Files.deleteIfExists(variant);
+            return content.length;
+        }
+        Files.write(variant, compressed);
+        return compressed.length;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 3);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private static String md5(byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content));
+    }
+
+    private static String extension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1);
+    }
+
+    /**
+     * brotli4j, looked up reflectively so the step still produces gzip variants on
+     * platforms without its native library.
+     */
+    private record Brotli(Method compress, Object parameters) {
+
+        static Brotli load() {
+            try {
+                Class.forName("com.aayushatharva.brotli4j.Brotli4jLoader").getMethod("ensureAvailability").invoke(null);
+                Class<?> encoder = Class.forName("com.aayushatharva.brotli4j.encoder.Encoder");
+                Class<?> parametersType = Class.forName("com.aayushatharva.brotli4j.encoder.Encoder$Parameters");
+                Object parameters = parametersType.getConstructor().newInstance();
+                parametersType.getMethod("setQuality", int.class).invoke(parameters, 11);
+                return new Brotli(encoder.getMethod("compress", byte[].class, parametersType), parameters);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.out.println("[assets] brotli4j not available (" + e + "), writing gzip variants only");
+                return null;
+            }
+        }
+
+        byte[] compress(byte[] content) throws IOException {
+            try {
+                return (byte[]) compress.invoke(null, content, parameters);
+            } catch (ReflectiveOperationException e) {
+                throw new IOException("Brotli compression failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.yourcompany.multitenant.benchmark;
+
+import com.yourcompany.multitenant.model.Role;
+import com.yourcompany.multitenant.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application token issue and checks. {@code authenticateRequest} is what
+ * JwtAuthenticationFilter does for every authenticated request: validate, then read
+ * user id, email and role (each claim read parses and verifies the token again).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "benchmark-secret-benchmark-secret-0123456789");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 86_400_000L);
+        token = tokenProvider.generateToken(42L, "jane.doe@acme.test", Role.END_USER, 7L);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(42L, "jane.doe@acme.test", Role.END_USER, 7L);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Long readClaim() {
+        return tokenProvider.getUserIdFromToken(token);
+    }
+
+    @Benchmark
+    public void authenticateRequest(Blackhole bh) {
+        if (tokenProvider.validateToken(token)) {
+            bh.consume(tokenProvider.getUserIdFromToken(token));
+            bh.consume(tokenProvider.getEmailFromToken(token));
+            bh.consume(tokenProvider.getRoleFromToken(token));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.yourcompany.multitenant.benchmark;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * Builds SAML 2.0 Responses shaped like real IdP output (signature block with an embedded
+ * certificate, subject, conditions, a typical attribute statement) padded with group
+ * attributes up to a target size.
+ */
+final class SamlFixtures {
+
+    static final String BASE_URL = "https://tenant1.example.com";
+    static final String AUDIENCE = BASE_URL + "/sso/saml/metadata";
+
+    private static final String SIGNATURE_BLOCK = """
+            <ds:Signature xmlns:ds="http://www.w3.org/2000/09/xmldsig#">
+              <ds:SignedInfo>
+                <ds:CanonicalizationMethod Algorithm="http://www.w3.org/2001/10/xml-exc-c14n#"/>
+                <ds:SignatureMethod Algorithm="http://www.w3.org/2001/04/xmldsig-more#rsa-sha256"/>
+                <ds:Reference URI="#_assert-1"><ds:DigestValue>3q2+7w==</ds:DigestValue></ds:Reference>
+              </ds:SignedInfo>
+              <ds:SignatureValue>%1$s</ds:SignatureValue>
+              <ds:KeyInfo><ds:X509Data><ds:X509Certificate>%2$s</ds:X509Certificate></ds:X509Data></ds:KeyInfo>
+            </ds:Signature>""";
+
+    private SamlFixtures() {
+    }
+
+    static String response(int targetBytes) {
+        return response(targetBytes, true);
+    }
+
+    /**
+     * @param placeholderSignature include a (non-verifiable) ds:Signature block so the size
+     *                             matches a signed response; pass false when the caller signs it
+     */
+    static String response(int targetBytes, boolean placeholderSignature) {
+        Instant now = Instant.now();
+        Random random = new Random(42);
+        byte[] certBytes = new byte[1100];
+        random.nextBytes(certBytes);
+
+        String signature = placeholderSignature
+                ? SIGNATURE_BLOCK.formatted(
+                        Base64.getEncoder().encodeToString(certBytes).substring(0, 344),
+                        Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(certBytes))
+                : "";
+
+        StringBuilder attributes = new StringBuilder()
+                .append(attribute("givenName", "Jane"))
+                .append(attribute("sn", "Doe"))
+                .append(attribute("email", "jane.doe@example.com"));
+
+        String head = """
+                <samlp:Response xmlns:samlp="urn:oasis:names:tc:SAML:2.0:protocol" xmlns:saml="urn:oasis:names:tc:SAML:2.0:assertion" ID="_resp-1" Version="2.0" IssueInstant="%1$s" Destination="https://tenant1.example.com/sso/saml/callback">
+                  <saml:Issuer>https://idp.example.com/saml</saml:Issuer>
+                  <samlp:Status><samlp:StatusCode Value="urn:oasis:names:tc:SAML:2.0:status:Success"/></samlp:Status>
+                  <saml:Assertion ID="_assert-1" Version="2.0" IssueInstant="%1$s">
+                    <saml:Issuer>https://idp.example.com/saml</saml:Issuer>
+                    %3$s
+                    <saml:Subject>
+                      <saml:NameID Format="urn:oasis:names:tc:SAML:1.1:nameid-format:emailAddress">jane.doe@example.com</saml:NameID>
+                      <saml:SubjectConfirmation Method="urn:oasis:names:tc:SAML:2.0:cm:bearer">
+                        <saml:SubjectConfirmationData NotOnOrAfter="%2$s" Recipient="https://tenant1.example.com/sso/saml/callback"/>
+                      </saml:SubjectConfirmation>
+                    </saml:Subject>
+                    <saml:Conditions NotBefore="%1$s" NotOnOrAfter="%2$s">
+                      <saml:AudienceRestriction><saml:Audience>%4$s</saml:Audience></saml:AudienceRestriction>
+                    </saml:Conditions>
+                    <saml:AuthnStatement AuthnInstant="%1$s" SessionIndex="_session-1">
+                      <saml:AuthnContext><saml:AuthnContextClassRef>urn:oasis:names:tc:SAML:2.0:ac:classes:PasswordProtectedTransport</saml:AuthnContextClassRef></saml:AuthnContext>
+                    </saml:AuthnStatement>
+                    <saml:AttributeStatement>
+                """.formatted(now, now.plusSeconds(3600), signature, AUDIENCE);
+        String tail = """
+                    </saml:AttributeStatement>
+                  </saml:Assertion>
+                </samlp:Response>
+                """;
+
+        int group = 0;
+        while (head.length() + attributes.length() + tail.length() < targetBytes) {
+            attributes.append(attribute("memberOf", "CN=group-" + (group++) + ",OU=Groups,DC=example,DC=com"));
+        }
+        return head + attributes + tail;
+    }
+
+    private static String attribute(String name, String value) {
+        return "<saml:Attribute Name=\"" + name + "\" NameFormat=\"urn:oasis:names:tc:SAML:2.0:attrname-format:basic\">"
+                + "<saml:AttributeValue>" + value + "</saml:AttributeValue></saml:Attribute>\n";
+    }
+}
@@ -0,0 +1,53 @@
+package com.yourcompany.multitenant.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourcompany.multitenant.dto.UserDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * UserDTO responses as Spring MVC writes them: one user (profile, login) and a page of
+ * users (admin listings).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDtoJsonBenchmark {
+
+    @Param({"1", "100"})
+    public int users;
+
+    private ObjectMapper objectMapper;
+    private Object payload;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the mapper Boot configures for MVC
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<UserDTO> list = IntStream.range(0, users)
+                .mapToObj(i -> UserDTO.builder()
+                        .id((long) i)
+                        .email("user" + i + "@acme.test")
+                        .firstName("First" + i)
+                        .lastName("Last" + i)
+                        .role("END_USER")
+                        .tenantId(7L)
+                        .tenantSubdomain("acme")
+                        .active(true)
+                        .build())
+                .toList();
+        payload = users == 1 ? list.get(0) : list;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(payload);
+    }
+}
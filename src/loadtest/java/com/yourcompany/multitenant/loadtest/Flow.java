@@ -0,0 +1,15 @@
+package com.yourcompany.multitenant.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * One kind of request the load test drives.
+ *
+ * @param request   builds the i-th request; called from several client threads
+ * @param succeeded whether the app's response counts as a successful login/listing
+ */
+record Flow(String name, IntFunction<HttpRequest> request, Predicate<HttpResponse<String>> succeeded) {
+}
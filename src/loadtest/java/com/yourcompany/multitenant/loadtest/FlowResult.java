@@ -0,0 +1,42 @@
+package com.yourcompany.multitenant.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency percentiles (nearest-rank, failed requests included) and throughput of one flow.
+ */
+record FlowResult(String flow,
+                  int requests,
+                  int errors,
+                  double throughputPerSecond,
+                  double p50Ms,
+                  double p95Ms,
+                  double p99Ms,
+                  double maxMs) {
+
+    static FlowResult of(String flow, long[] latencyNanos, int errors, long elapsedNanos) {
+        long[] sorted = latencyNanos.clone();
+        Arrays.sort(sorted);
+        return new FlowResult(flow, sorted.length, errors,
+                sorted.length / (elapsedNanos / 1e9),
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.95),
+                percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]));
+    }
+
+    String summary() {
+        return "%s: %d requests, %d errors, %.1f req/s, p50 %.2f ms, p95 %.2f ms, p99 %.2f ms"
+                .formatted(flow, requests, errors, throughputPerSecond, p50Ms, p95Ms, p99Ms);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p * sorted.length);
+        return millis(sorted[Math.max(rank, 1) - 1]);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
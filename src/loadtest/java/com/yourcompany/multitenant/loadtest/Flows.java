@@ -0,0 +1,128 @@
+package com.yourcompany.multitenant.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * The flows the load test can run. Request i goes to tenant {@code i % tenants} and
+ * cycles through that tenant's users.
+ */
+final class Flows {
+
+    static final List<String> NAMES = List.of("login", "jwt", "oauth", "saml", "admin-list");
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final URI base;
+    private final List<SeededTenant> tenants;
+    private final StubIdp idp;
+    private final Traffic traffic;
+
+    Flows(URI base, List<SeededTenant> tenants, StubIdp idp, Traffic traffic) {
+        this.base = base;
+        this.tenants = tenants;
+        this.idp = idp;
+        this.traffic = traffic;
+    }
+
+    /**
+     * @param total requests the flow will be asked for (warmup included); tokens that can
+     *              only be used once are minted up front for all of them
+     */
+    Flow create(String name, int total) throws Exception {
+        return switch (name) {
+            case "login" -> new Flow(name, i -> {
+                SeededTenant tenant = tenant(i);
+                return request(tenant, "/api/auth/login")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(loginBody(tenant.user(i / tenants.size()))))
+                        .build();
+            }, Flows::ok);
+            case "jwt" -> {
+                List<HttpRequest> requests = new ArrayList<>(total);
+                for (int i = 0; i < total; i++) {
+                    SeededTenant tenant = tenant(i);
+                    String token = idp.jwt(tenant, tenant.user(i / tenants.size()));
+                    requests.add(request(tenant, "/sso/jwt/callback?id_token=" + token).GET().build());
+                }
+                yield new Flow(name, requests::get, Flows::ssoLoggedIn);
+            }
+            case "oauth" -> new Flow(name, i -> {
+                SeededTenant tenant = tenant(i);
+                String code = idp.authorizationCode(tenant.user(i / tenants.size()));
+                return request(tenant, "/sso/oauth/callback?code=" + code + "&state=loadtest").GET().build();
+            }, Flows::ssoLoggedIn);
+            case "saml" -> {
+                List<HttpRequest> requests = new ArrayList<>(total);
+                for (int i = 0; i < total; i++) {
+                    SeededTenant tenant = tenant(i);
+                    String samlResponse = Base64.getEncoder().encodeToString(
+                            idp.samlResponse(tenant, tenant.user(i / tenants.size())));
+                    requests.add(request(tenant, "/sso/saml/callback")
+                            .header("Content-Type", "application/x-www-form-urlencoded")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "SAMLResponse=" + URLEncoder.encode(samlResponse, StandardCharsets.UTF_8)))
+                            .build());
+                }
+                yield new Flow(name, requests::get, Flows::ssoLoggedIn);
+            }
+            case "admin-list" -> {
+                List<String> adminTokens = new ArrayList<>(tenants.size());
+                for (SeededTenant tenant : tenants) {
+                    adminTokens.add(adminToken(tenant));
+                }
+                yield new Flow(name, i -> request(tenant(i), "/api/customer-admin/end-users")
+                        .header("Authorization", "Bearer " + adminTokens.get(i % tenants.size()))
+                        .GET()
+                        .build(), Flows::ok);
+            }
+            default -> throw new IllegalArgumentException("Unknown flow " + name + ", expected one of " + NAMES);
+        };
+    }
+
+    private SeededTenant tenant(int i) {
+        return tenants.get(i % tenants.size());
+    }
+
+    private HttpRequest.Builder request(SeededTenant tenant, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).header("X-Forwarded-Host", tenant.host());
+    }
+
+    private String adminToken(SeededTenant tenant) throws Exception {
+        HttpResponse<String> response = traffic.send(request(tenant, "/api/auth/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(loginBody(tenant.adminEmail())))
+                .build());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Admin login for " + tenant.subdomain() + " failed: "
+                    + response.statusCode() + " " + response.body());
+        }
+        JsonNode body = JSON.readTree(response.body());
+        return body.path("token").asText();
+    }
+
+    private static String loginBody(String email) {
+        return "{\"email\":\"" + email + "\",\"password\":\"" + Seeder.PASSWORD + "\"}";
+    }
+
+    private static boolean ok(HttpResponse<String> response) {
+        return response.statusCode() == 200;
+    }
+
+    /**
+     * SSO callbacks redirect to the login page with either the issued app token or an error.
+     */
+    private static boolean ssoLoggedIn(HttpResponse<String> response) {
+        return response.statusCode() == 302
+                && response.headers().firstValue("Location").filter(l -> l.contains("token=")).isPresent();
+    }
+}
@@ -0,0 +1,133 @@
+package com.yourcompany.multitenant.loadtest;
+
+import com.yourcompany.multitenant.MultitenantApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * End-to-end load test of the login paths, run by the {@code loadtest} Maven profile.
+ *
+ * <ol>
+ *   <li>Starts an embedded Postgres (not H2: the user upsert and the JDBC replay cache use
+ *       Postgres-only SQL) and boots the application on it the way both profiles deploy it:
+ *       Flyway off and the schema created by Hibernate ({@code ddl-auto=update}) from the
+ *       entities. This is deliberate: the Flyway scripts are out of date (V1 creates
+ *       {@code sso_config}, the entity maps {@code ssoconfig}, and later tables such as
+ *       {@code tenant_usage} have no migration), so running them would test a schema no
+ *       environment uses. Nothing from the migrations' sample data is needed.</li>
+ *   <li>Seeds {@code loadtest.tenants} tenants, each with a customer admin,
+ *       {@code loadtest.users-per-tenant} end users and JWT, OAuth and SAML configs pointing
+ *       at an in-process {@link StubIdp}.</li>
+ *   <li>Runs each flow in {@code loadtest.flows} in turn from {@code loadtest.concurrency}
+ *       client threads over HTTP, so requests go through Tomcat and the full filter chain.
+ *       Tenants are picked round-robin via {@code X-Forwarded-Host}.</li>
+ *   <li>Prints p50/p95/p99 latency and throughput per flow and writes them to
+ *       {@code loadtest.result} as JSON.</li>
+ * </ol>
+ *
+ * Everything runs in one JVM, so absolute numbers include the client and stub IdP sharing
+ * the CPU; compare runs made on the same machine.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        System.out.println("[loadtest] " + settings);
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             StubIdp idp = StubIdp.start(settings.idpLatencyMs())) {
+            ConfigurableApplicationContext app = new SpringApplicationBuilder(MultitenantApplication.class)
+                    .run(applicationArguments(postgres));
+            try {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                List<SeededTenant> tenants = new Seeder(app, idp).seed(settings.tenants(), settings.usersPerTenant());
+                System.out.printf("[loadtest] seeded %d tenants x %d users, app on port %d%n",
+                        tenants.size(), settings.usersPerTenant(), port);
+
+                Traffic traffic = new Traffic(settings.concurrency());
+                Flows flows = new Flows(URI.create("http://127.0.0.1:" + port), tenants, idp, traffic);
+                List<FlowResult> results = new ArrayList<>();
+                try {
+                    for (String name : settings.flows()) {
+                        Flow flow = flows.create(name, settings.warmup() + settings.requests());
+                        FlowResult result = traffic.run(flow, settings.warmup(), settings.requests());
+                        System.out.println("[loadtest] " + result.summary());
+                        results.add(result);
+                    }
+                } finally {
+                    traffic.close();
+                }
+
+                Report.print(results);
+                if (settings.result() != null) {
+                    Report.writeJson(settings.result(), settings, results);
+                    System.out.println("[loadtest] results written to " + settings.result());
+                }
+            } finally {
+                app.close();
+            }
+        }
+    }
+
+    /**
+     * Passed as command-line arguments so they override application.properties.
+     */
+    private static String[] applicationArguments(EmbeddedPostgres postgres) {
+        return new String[] {
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                // Same schema source as application(-prod).properties; see the class comment
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--app.base.domain=localhost",
+                // The stub IdP posts IdP-initiated responses, with no AuthnRequest to answer
+                "--app.sso.saml.allow-unsolicited=true",
+                // Sample like production rather than tracing every request
+                "--management.tracing.sampling.probability=0.1",
+                "--logging.level.root=WARN",
+        };
+    }
+
+    /**
+     * @param result null to skip the JSON report
+     */
+    record Settings(int tenants,
+                    int usersPerTenant,
+                    int concurrency,
+                    int requests,
+                    int warmup,
+                    long idpLatencyMs,
+                    List<String> flows,
+                    Path result) {
+
+        static Settings fromSystemProperties() {
+            String result = System.getProperty("loadtest.result");
+            return new Settings(
+                    Integer.getInteger("loadtest.tenants", 20),
+                    Integer.getInteger("loadtest.users-per-tenant", 50),
+                    Integer.getInteger("loadtest.concurrency", 32),
+                    Integer.getInteger("loadtest.requests", 2000),
+                    Integer.getInteger("loadtest.warmup", 300),
+                    Long.getLong("loadtest.idp-latency-ms", 50),
+                    Arrays.stream(System.getProperty("loadtest.flows", String.join(",", Flows.NAMES)).split(","))
+                            .map(String::trim)
+                            .filter(name -> !name.isEmpty())
+                            .toList(),
+                    result == null || result.isBlank() ? null : Path.of(result));
+        }
+    }
+}
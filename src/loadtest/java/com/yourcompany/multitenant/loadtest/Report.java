@@ -0,0 +1,43 @@
+package com.yourcompany.multitenant.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+final class Report {
+
+    private Report() {
+    }
+
+    static void print(List<FlowResult> results) {
+        System.out.println();
+        System.out.printf("%-12s %9s %7s %10s %9s %9s %9s %9s%n",
+                "flow", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (FlowResult r : results) {
+            System.out.printf("%-12s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.flow(), r.requests(), r.errors(), r.throughputPerSecond(),
+                    r.p50Ms(), r.p95Ms(), r.p99Ms(), r.maxMs());
+        }
+        System.out.println();
+    }
+
+    static void writeJson(Path file, LoadTest.Settings settings, List<FlowResult> results) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), Map.of(
+                        "settings", Map.of(
+                                "tenants", settings.tenants(),
+                                "usersPerTenant", settings.usersPerTenant(),
+                                "concurrency", settings.concurrency(),
+                                "requests", settings.requests(),
+                                "warmup", settings.warmup(),
+                                "idpLatencyMs", settings.idpLatencyMs()),
+                        "results", results));
+    }
+}
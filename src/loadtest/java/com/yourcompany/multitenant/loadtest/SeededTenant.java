@@ -0,0 +1,26 @@
+package com.yourcompany.multitenant.loadtest;
+
+import java.util.List;
+
+/**
+ * What the flows need to know about a seeded tenant to log its users in.
+ *
+ * @param host         value sent as {@code X-Forwarded-Host} to select the tenant
+ * @param jwtSecret    HS256 secret of the tenant's JWT SSO config
+ * @param samlAudience SP entity ID the tenant's SAML assertions must be addressed to
+ * @param samlAcsUrl   the tenant's ACS URL, the Recipient of its SAML assertions
+ * @param users        end-user emails; all share {@link Seeder#PASSWORD}
+ */
+record SeededTenant(Long id,
+                    String subdomain,
+                    String host,
+                    String jwtSecret,
+                    String samlAudience,
+                    String samlAcsUrl,
+                    String adminEmail,
+                    List<String> users) {
+
+    String user(int i) {
+        return users.get(i % users.size());
+    }
+}
@@ -0,0 +1,106 @@
+package com.yourcompany.multitenant.loadtest;
+
+import com.yourcompany.multitenant.model.Role;
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.model.Tenant;
+import com.yourcompany.multitenant.model.User;
+import com.yourcompany.multitenant.repository.SSOConfigRepository;
+import com.yourcompany.multitenant.repository.TenantRepository;
+import com.yourcompany.multitenant.repository.UserRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds load-test tenants through the application's own repositories into the schema
+ * Hibernate generated from the entities, so column mapping and defaults are exactly what
+ * the app uses. The database starts empty: no migration data is loaded.
+ */
+final class Seeder {
+
+    static final String PASSWORD = "LoadTest@123";
+
+    private final TenantRepository tenantRepository;
+    private final UserRepository userRepository;
+    private final SSOConfigRepository ssoConfigRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final StubIdp idp;
+
+    Seeder(ApplicationContext app, StubIdp idp) {
+        this.tenantRepository = app.getBean(TenantRepository.class);
+        this.userRepository = app.getBean(UserRepository.class);
+        this.ssoConfigRepository = app.getBean(SSOConfigRepository.class);
+        this.passwordEncoder = app.getBean(PasswordEncoder.class);
+        this.idp = idp;
+    }
+
+    List<SeededTenant> seed(int tenants, int usersPerTenant) {
+        // One hash for everyone: seeding 10k users shouldn't take 10k BCrypt rounds
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+
+        List<SeededTenant> seeded = new ArrayList<>(tenants);
+        for (int t = 1; t <= tenants; t++) {
+            String subdomain = "lt%03d".formatted(t);
+            Tenant tenant = tenantRepository.save(Tenant.builder()
+                    .subdomain(subdomain)
+                    .name("Load test tenant " + t)
+                    .active(true)
+                    .build());
+
+            String adminEmail = "admin@" + subdomain + ".test";
+            List<User> users = new ArrayList<>(usersPerTenant + 1);
+            users.add(user(tenant, adminEmail, Role.CUSTOMER_ADMIN, passwordHash));
+            List<String> emails = new ArrayList<>(usersPerTenant);
+            for (int u = 1; u <= usersPerTenant; u++) {
+                String email = "user%d@%s.test".formatted(u, subdomain);
+                users.add(user(tenant, email, Role.END_USER, passwordHash));
+                emails.add(email);
+            }
+            userRepository.saveAll(users);
+
+            String jwtSecret = "load-test-hs256-secret-for-" + subdomain + "-at-least-32-bytes";
+            String samlAudience = "urn:loadtest:sp:" + subdomain;
+            String samlAcsUrl = "http://" + subdomain + ".localhost/sso/saml/callback";
+            ssoConfigRepository.saveAll(List.of(
+                    SSOConfig.builder().tenant(tenant).provider(SSOProvider.JWT).enabled(true)
+                            .jwtSecret(jwtSecret)
+                            .jwtUrl(idp.url("/jwt/authorize"))
+                            .build(),
+                    SSOConfig.builder().tenant(tenant).provider(SSOProvider.OAUTH).enabled(true)
+                            .oauthClientId("loadtest-" + subdomain)
+                            .oauthClientSecret("loadtest-secret")
+                            .oauthAuthorizationUrl(idp.url("/oauth/authorize"))
+                            .oauthTokenUrl(idp.url("/oauth/token"))
+                            .oauthUserInfoUrl(idp.url("/oauth/userinfo"))
+                            .oauthRedirectUri("http://" + subdomain + ".localhost/sso/oauth/callback")
+                            .oauthScopes("openid,email,profile")
+                            .oauthOidcEnabled(false)
+                            .build(),
+                    SSOConfig.builder().tenant(tenant).provider(SSOProvider.SAML).enabled(true)
+                            .samlSsoUrl(idp.url("/saml/sso"))
+                            .samlCertificate(idp.samlCertificatePem())
+                            .samlSpEntityId(samlAudience)
+                            .samlAcsUrl(samlAcsUrl)
+                            .build()));
+
+            seeded.add(new SeededTenant(tenant.getId(), subdomain, subdomain + ".localhost",
+                    jwtSecret, samlAudience, samlAcsUrl, adminEmail, emails));
+        }
+        return seeded;
+    }
+
+    private static User user(Tenant tenant, String email, Role role, String passwordHash) {
+        return User.builder()
+                .email(email)
+                .firstName("Load")
+                .lastName("Test")
+                .password(passwordHash)
+                .role(role)
+                .active(true)
+                .tenant(tenant)
+                .build();
+    }
+}
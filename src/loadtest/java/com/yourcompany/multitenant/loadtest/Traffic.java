@@ -0,0 +1,99 @@
+package com.yourcompany.multitenant.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Closed-loop load generator: a fixed number of client threads, each sending its next
+ * request as soon as the previous one completes.
+ */
+final class Traffic implements AutoCloseable {
+
+    private final int concurrency;
+    private final ExecutorService clients;
+    private final HttpClient http;
+
+    Traffic(int concurrency) {
+        this.concurrency = concurrency;
+        this.clients = Executors.newFixedThreadPool(concurrency);
+        // Redirects are the SSO callbacks' result, not something to follow
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Runs {@code warmup} unmeasured requests, then {@code requests} measured ones.
+     */
+    FlowResult run(Flow flow, int warmup, int requests) throws Exception {
+        execute(flow, 0, warmup, new long[warmup], new AtomicInteger(), new AtomicReference<>());
+
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        AtomicReference<String> firstError = new AtomicReference<>();
+        long start = System.nanoTime();
+        execute(flow, warmup, requests, latencies, errors, firstError);
+        long elapsed = System.nanoTime() - start;
+
+        if (firstError.get() != null) {
+            System.out.println("[loadtest] " + flow.name() + ": first failure: " + firstError.get());
+        }
+        return FlowResult.of(flow.name(), latencies, errors.get(), elapsed);
+    }
+
+    private void execute(Flow flow, int offset, int count, long[] latencies,
+                         AtomicInteger errors, AtomicReference<String> firstError) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            workers.add(clients.submit(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < count) {
+                    HttpRequest request = flow.request().apply(offset + i);
+                    long begin = System.nanoTime();
+                    String failure;
+                    try {
+                        HttpResponse<String> response = send(request);
+                        failure = flow.succeeded().test(response)
+                                ? null
+                                : response.statusCode() + " " + response.headers().firstValue("Location").orElse(response.body());
+                    } catch (IOException e) {
+                        failure = e.toString();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    latencies[i] = System.nanoTime() - begin;
+                    if (failure != null) {
+                        errors.incrementAndGet();
+                        firstError.compareAndSet(null, failure);
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+    }
+
+    @Override
+    public void close() {
+        clients.shutdownNow();
+    }
+}
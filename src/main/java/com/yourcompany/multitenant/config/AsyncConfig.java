@@ -0,0 +1,44 @@
+package com.yourcompany.multitenant.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Executors for work that continues after the servlet thread has been released
+ * (e.g. the OAuth callback once the IdP has answered).
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Bounded pool for the blocking tail of SSO callbacks (JPA lookups, user provisioning),
+     * kept off the reactor-netty event loop which must never block. When the queue is full
+     * the task is rejected and the callback fails fast instead of stalling an event loop.
+     *
+     * Deliberately not exposed as an Executor bean so it doesn't replace Boot's
+     * applicationTaskExecutor. In virtual-thread mode each callback gets its own virtual
+     * thread instead; the database pool is what bounds that work then.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler ssoScheduler(@Value("${app.sso.callback-pool.core-size:4}") int coreSize,
+                                  @Value("${app.sso.callback-pool.max-size:16}") int maxSize,
+                                  @Value("${app.sso.callback-pool.queue-capacity:200}") int queueCapacity,
+                                  @Value("${app.threads.virtual:false}") boolean virtualThreads,
+                                  TenantContextTaskDecorator taskDecorator) {
+        if (virtualThreads) {
+            return Schedulers.fromExecutorService(VirtualThreadConfig.virtualExecutor("sso-callback-vt-"), "sso-callback");
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("sso-callback-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setTaskDecorator(taskDecorator);
+        executor.initialize();
+        return Schedulers.fromExecutorService(executor.getThreadPoolExecutor(), "sso-callback");
+    }
+}
@@ -0,0 +1,35 @@
+package com.yourcompany.multitenant.config;
+
+import net.shibboleth.utilities.java.support.component.ComponentInitializationException;
+import net.shibboleth.utilities.java.support.xml.BasicParserPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.saml2.core.OpenSamlInitializationService;
+
+/**
+ * One-time OpenSAML bootstrap. Loading the XMLObject providers and default security
+ * configuration is expensive and global, so it happens here at startup rather than on
+ * the first SAML callback.
+ */
+@Configuration
+public class OpenSamlConfig {
+
+    /**
+     * Pooled, namespace-aware DocumentBuilders for SAML signature validation. OpenSAML's
+     * pool disallows DOCTYPE declarations and external entities by default.
+     */
+    @Bean(destroyMethod = "destroy")
+    public BasicParserPool samlParserPool(@Value("${app.sso.saml.parser-pool-size:16}") int poolSize)
+            throws ComponentInitializationException {
+        // Idempotent, and shared with Spring Security's own SAML support
+        OpenSamlInitializationService.initialize();
+
+        BasicParserPool pool = new BasicParserPool();
+        pool.setMaxPoolSize(poolSize);
+        pool.setNamespaceAware(true);
+        pool.setIgnoreComments(true);
+        pool.initialize();
+        return pool;
+    }
+}
@@ -0,0 +1,60 @@
+package com.yourcompany.multitenant.config;
+
+import com.yourcompany.multitenant.monitoring.QueryStatistics;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Feeds {@link QueryStatistics}: wraps the DataSource in a proxy that reports every
+ * statement with its execution time, and registers the bean as Hibernate's
+ * session-factory interceptor so entity loads are counted too.
+ */
+@Configuration
+public class QueryStatisticsConfig {
+
+    /**
+     * Static and lazy: post-processors are created before regular beans, and
+     * {@link QueryStatistics} must not be pulled in that early.
+     */
+    @Bean
+    public static BeanPostProcessor queryTimingDataSourceProxy(ObjectProvider<QueryStatistics> queryStatistics) {
+        QueryExecutionListener listener = new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                queryStatistics.getObject().afterQuery(execInfo, queryInfoList);
+            }
+        };
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadInterceptor(QueryStatistics queryStatistics) {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, queryStatistics);
+    }
+}
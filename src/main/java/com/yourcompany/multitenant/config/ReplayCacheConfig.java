@@ -0,0 +1,54 @@
+package com.yourcompany.multitenant.config;
+
+import com.yourcompany.multitenant.repository.UsedSsoTokenRepository;
+import com.yourcompany.multitenant.security.JdbcReplayCache;
+import com.yourcompany.multitenant.security.ReplayCache;
+import com.yourcompany.multitenant.security.TimingWheelReplayCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Replay protection for SSO callbacks. {@code app.sso.replay-cache.store=memory} (default)
+ * keeps used ids on this node only; {@code jdbc} shares them across nodes through
+ * PostgreSQL with the in-memory cache as a near-cache.
+ */
+@Configuration
+public class ReplayCacheConfig {
+
+    @Value("${app.sso.replay-cache.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${app.sso.replay-cache.slots:512}")
+    private int slots;
+
+    @Value("${app.sso.replay-cache.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${app.sso.replay-cache.min-ttl-seconds:300}")
+    private long minTtlSeconds;
+
+    @Value("${app.sso.replay-cache.max-ttl-seconds:86400}")
+    private long maxTtlSeconds;
+
+    @Bean
+    @ConditionalOnProperty(name = "app.sso.replay-cache.store", havingValue = "memory", matchIfMissing = true)
+    public ReplayCache inMemoryReplayCache() {
+        return timingWheel();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.sso.replay-cache.store", havingValue = "jdbc")
+    public ReplayCache jdbcReplayCache(UsedSsoTokenRepository repository) {
+        return new JdbcReplayCache(repository, timingWheel(),
+                Duration.ofSeconds(minTtlSeconds), Duration.ofSeconds(maxTtlSeconds));
+    }
+
+    private TimingWheelReplayCache timingWheel() {
+        return new TimingWheelReplayCache(Duration.ofMillis(tickMs), slots, maxEntries,
+                Duration.ofSeconds(minTtlSeconds), Duration.ofSeconds(maxTtlSeconds));
+    }
+}
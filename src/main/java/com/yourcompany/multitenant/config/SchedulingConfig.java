@@ -0,0 +1,12 @@
+package com.yourcompany.multitenant.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (e.g. IdP metadata refresh).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
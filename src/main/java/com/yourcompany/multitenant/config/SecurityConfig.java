@@ -1,7 +1,10 @@
 package com.yourcompany.multitenant.config;
 
+import com.yourcompany.multitenant.monitoring.ObservedPasswordEncoder;
 import com.yourcompany.multitenant.security.JwtAuthenticationFilter;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,6 +19,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
 @Configuration
@@ -26,6 +30,11 @@ public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ObservationRegistry observationRegistry;
+
+    // Actuator endpoints are served on this port only (management.server.port), never the public one
+    @Value("${management.server.port:-1}")
+    private int managementPort;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -40,7 +49,14 @@ public class SecurityConfig {
                         // --- Health Check Endpoints (for Render) ---
                         .requestMatchers(
                                 new AntPathRequestMatcher("/api/health"),
-                                new AntPathRequestMatcher("/api/ping")
+                                new AntPathRequestMatcher("/api/ping"),
+                                new AntPathRequestMatcher("/actuator/health")
+                        ).permitAll()
+
+                        // --- Prometheus scrape: unauthenticated on the private management port only ---
+                        .requestMatchers(new AndRequestMatcher(
+                                new AntPathRequestMatcher("/actuator/prometheus"),
+                                request -> managementPort > 0 && request.getLocalPort() == managementPort)
                         ).permitAll()
 
                         // --- Public resources ---
@@ -52,6 +68,7 @@ public class SecurityConfig {
                                 new AntPathRequestMatcher("/index.html"),
                                 new AntPathRequestMatcher("/debug-domain.html"),
                                 new AntPathRequestMatcher("/static/**"),
+                                new AntPathRequestMatcher("/assets/**"),
                                 new AntPathRequestMatcher("/public/**"),
                                 new AntPathRequestMatcher("/**/*.js"),
                                 new AntPathRequestMatcher("/**/*.css"),
@@ -118,6 +135,6 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new ObservedPasswordEncoder(new BCryptPasswordEncoder(), observationRegistry);
     }
 }
\ No newline at end of file
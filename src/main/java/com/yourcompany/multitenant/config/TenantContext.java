@@ -1,11 +1,36 @@
 // TenantContext.java
 package com.yourcompany.multitenant.config;
 
-public class TenantContext {
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The tenant (and, for handoffs, the security context) of the work running on the current
+ * thread.
+ *
+ * Modeled on {@code ScopedValue}: values are bound for the extent of a call with
+ * {@link #runWhere}/{@link #callWhere} and whatever was bound before is restored
+ * afterwards, so nothing outlives the request or task that set it, whether the thread is
+ * pooled or virtual. Work handed to another thread carries an immutable {@link Snapshot}
+ * taken on the submitting thread; there is deliberately no {@code InheritableThreadLocal},
+ * which would copy the value into every thread created (including pool threads that
+ * later serve other tenants).
+ */
+public final class TenantContext {
+
     private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
 
+    private TenantContext() {
+    }
+
     public static void setTenantId(String tenantId) {
-        CURRENT_TENANT.set(tenantId);
+        if (tenantId == null) {
+            CURRENT_TENANT.remove();
+        } else {
+            CURRENT_TENANT.set(tenantId);
+        }
     }
 
     public static String getTenantId() {
@@ -15,4 +40,77 @@ public class TenantContext {
     public static void clear() {
         CURRENT_TENANT.remove();
     }
-}
\ No newline at end of file
+
+    public static void runWhere(String tenantId, Runnable work) {
+        new Snapshot(tenantId, null).run(work);
+    }
+
+    public static <T> T callWhere(String tenantId, Callable<T> work) throws Exception {
+        return new Snapshot(tenantId, null).call(work);
+    }
+
+    /**
+     * Captures the tenant and authenticated security context of the current thread for
+     * work that will run elsewhere.
+     */
+    public static Snapshot capture() {
+        SecurityContext security = SecurityContextHolder.getContext();
+        return new Snapshot(CURRENT_TENANT.get(), security.getAuthentication() == null ? null : security);
+    }
+
+    /**
+     * @param securityContext null when there was no authentication to carry over
+     */
+    public record Snapshot(String tenantId, SecurityContext securityContext) {
+
+        public Runnable wrap(Runnable task) {
+            return () -> run(task);
+        }
+
+        public <T> Callable<T> wrap(Callable<T> task) {
+            return () -> call(task);
+        }
+
+        public void run(Runnable task) {
+            String previousTenant = CURRENT_TENANT.get();
+            SecurityContext previousSecurity = bind();
+            try {
+                task.run();
+            } finally {
+                restore(previousTenant, previousSecurity);
+            }
+        }
+
+        public <T> T call(Callable<T> task) throws Exception {
+            String previousTenant = CURRENT_TENANT.get();
+            SecurityContext previousSecurity = bind();
+            try {
+                return task.call();
+            } finally {
+                restore(previousTenant, previousSecurity);
+            }
+        }
+
+        private SecurityContext bind() {
+            setTenantId(tenantId);
+            if (securityContext == null) {
+                return null;
+            }
+            SecurityContext previous = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(securityContext);
+            return previous;
+        }
+
+        private void restore(String previousTenant, SecurityContext previousSecurity) {
+            setTenantId(previousTenant);
+            if (securityContext == null) {
+                return;
+            }
+            if (previousSecurity == null || previousSecurity.getAuthentication() == null) {
+                SecurityContextHolder.clearContext();
+            } else {
+                SecurityContextHolder.setContext(previousSecurity);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.yourcompany.multitenant.config;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the submitting thread's tenant and security context into tasks run by Spring
+ * executors. Boot applies the single TaskDecorator bean to {@code applicationTaskExecutor}
+ * ({@code @Async}, MVC async); {@link AsyncConfig} applies it to the SSO callback pool.
+ */
+@Component
+public class TenantContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TenantContext.capture().wrap(runnable);
+    }
+}
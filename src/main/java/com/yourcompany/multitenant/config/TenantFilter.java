@@ -15,6 +15,10 @@ public class TenantFilter implements Filter {
     // SUPER ADMIN tenant ID is always "1"
     public static final String SUPER_ADMIN_ID = "1";
 
+    // Request attribute holding the resolved tenant key, for code that runs outside this filter
+    // (the server observation wraps it and finishes after TenantContext has been restored)
+    public static final String TENANT_ATTRIBUTE = TenantFilter.class.getName() + ".tenant";
+
     @Value("${app.base.domain:localhost}")
     private String baseDomain;
 
@@ -37,15 +41,18 @@ public class TenantFilter implements Filter {
 
         if (tenantId != null) {
             log.debug("Setting TenantContext to {}", tenantId);
-            TenantContext.setTenantId(tenantId);
         } else {
             log.warn("Could not determine tenant from server name: {}", serverName);
         }
 
+        // Bound for this request only; whatever the thread held before is restored afterwards
+        String previous = TenantContext.getTenantId();
+        TenantContext.setTenantId(tenantId);
+        request.setAttribute(TENANT_ATTRIBUTE, tenantId);
         try {
             chain.doFilter(request, response);
         } finally {
-            TenantContext.clear();
+            TenantContext.setTenantId(previous);
         }
     }
 
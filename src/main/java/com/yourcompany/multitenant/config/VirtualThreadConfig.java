@@ -0,0 +1,49 @@
+package com.yourcompany.multitenant.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Opt-in ({@code app.threads.virtual=true}, Java 21+ runtime): Tomcat handles each request
+ * on its own virtual thread and {@code @Async}/MVC async work runs on virtual threads too,
+ * so requests blocked on an IdP or the database no longer hold one of Tomcat's
+ * {@code server.tomcat.threads.max} platform threads. Concurrency is then bounded by the
+ * Hikari pool and the IdP bulkheads rather than the thread count.
+ *
+ * Tenant and security context reach these threads through {@link TenantContext} snapshots;
+ * nothing relies on thread reuse or inheritance.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler() {
+        ExecutorService executor = virtualExecutor("tomcat-vt-");
+        log.info("Handling requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Replaces Boot's pooled {@code applicationTaskExecutor}.
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"}, destroyMethod = "")
+    public AsyncTaskExecutor applicationTaskExecutor(TenantContextTaskDecorator taskDecorator) {
+        TaskExecutorAdapter executor = new TaskExecutorAdapter(virtualExecutor("task-vt-"));
+        executor.setTaskDecorator(taskDecorator);
+        return executor;
+    }
+
+    static ExecutorService virtualExecutor(String prefix) {
+        return VirtualThreads.newPerTaskExecutor(prefix).orElseThrow(() -> new IllegalStateException(
+                "app.threads.virtual=true needs a Java 21+ runtime (running " + Runtime.version() + ")"));
+    }
+}
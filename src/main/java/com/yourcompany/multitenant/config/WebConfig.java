@@ -1,9 +1,21 @@
 // WebConfig.java
 package com.yourcompany.multitenant.config;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -13,4 +25,43 @@ public class WebConfig implements WebMvcConfigurer {
         // Map root to login page
         registry.addViewController("/").setViewName("forward:/login.html");
     }
-}
\ No newline at end of file
+
+    /**
+     * Fingerprinted assets ({@code /assets/config-<md5>.js}, written into the pages by the
+     * build's StaticAssetPipeline). The URL changes whenever the content does, so they can
+     * be cached for a year without revalidation; the precompressed .br/.gz variant is served
+     * when the client accepts it. Only fingerprinted scripts and stylesheets resolve here;
+     * anything else under /assets/ is a 404, so a page or an unversioned file can never be
+     * pinned in a browser cache for a year. Those stay on the default (no-cache) handler.
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new FingerprintedOnlyResolver())
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    /** Passes on only {@code name-<md5>.js|css} paths, the form StaticAssetPipeline writes. */
+    private static final class FingerprintedOnlyResolver extends AbstractResourceResolver {
+
+        private static final Pattern FINGERPRINTED = Pattern.compile("[\\w./-]+-[0-9a-f]{32}\\.(js|css)");
+
+        @Override
+        protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                                   List<? extends Resource> locations, ResourceResolverChain chain) {
+            return FINGERPRINTED.matcher(requestPath).matches()
+                    ? chain.resolveResource(request, requestPath, locations)
+                    : null;
+        }
+
+        @Override
+        protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                                ResourceResolverChain chain) {
+            return chain.resolveUrlPath(resourceUrlPath, locations);
+        }
+    }
+}
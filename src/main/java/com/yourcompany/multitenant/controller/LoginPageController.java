@@ -0,0 +1,67 @@
+package com.yourcompany.multitenant.controller;
+
+import com.yourcompany.multitenant.config.TenantContext;
+import com.yourcompany.multitenant.exception.TenantNotFoundException;
+import com.yourcompany.multitenant.service.LoginPageService;
+import com.yourcompany.multitenant.service.TenantService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the login page with the tenant's SSO buttons rendered in (takes precedence over
+ * the static {@code login.html}, so existing redirects to it keep working). Responses are
+ * revalidated on every load via ETag/Last-Modified, so a changed SSO config shows up
+ * immediately while unchanged pages cost a 304.
+ */
+@Controller
+@RequiredArgsConstructor
+public class LoginPageController {
+
+    private final LoginPageService loginPageService;
+    private final TenantService tenantService;
+
+    @GetMapping(value = "/login.html", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<byte[]> loginPage(ServletWebRequest request) {
+        LoginPageService.Page page = loginPageService.page(TenantContext.getTenantId(), () -> {
+            try {
+                return tenantService.getCurrentTenant();
+            } catch (TenantNotFoundException e) {
+                return null;
+            }
+        });
+
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? page.gzipEtag() : page.etag();
+        if (request.checkNotModified(etag, page.lastModified())) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.gzipped());
+        }
+        return response.body(page.html());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").equals("q=0");
+            }
+        }
+        return false;
+    }
+}
@@ -1,27 +1,24 @@
 package com.yourcompany.multitenant.controller;
 
+import com.yourcompany.multitenant.exception.TenantNotFoundException;
 import com.yourcompany.multitenant.model.*;
 import com.yourcompany.multitenant.repository.SSOConfigRepository;
-import com.yourcompany.multitenant.repository.UserRepository;
-import com.yourcompany.multitenant.security.JwtTokenProvider;
+import com.yourcompany.multitenant.security.SamlIdpMetadata;
+import com.yourcompany.multitenant.security.SamlIdpMetadataCache;
+import com.yourcompany.multitenant.security.SamlSpProfileCache;
+import com.yourcompany.multitenant.service.SsoLoginPipeline;
 import com.yourcompany.multitenant.service.TenantService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
-import org.w3c.dom.Document;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.ByteArrayOutputStream;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.zip.Deflater;
-import java.util.zip.DeflaterOutputStream;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Controller
@@ -31,8 +28,9 @@ public class SAMLSSOController {
 
     private final TenantService tenantService;
     private final SSOConfigRepository ssoConfigRepository;
-    private final UserRepository userRepository;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final SamlSpProfileCache samlSpProfileCache;
+    private final SamlIdpMetadataCache samlIdpMetadataCache;
+    private final SsoLoginPipeline ssoLoginPipeline;
 
     @GetMapping("/login")
     public String samlLogin(HttpServletRequest request) {
@@ -40,41 +38,25 @@ public class SAMLSSOController {
             final Tenant tenant = tenantService.getCurrentTenant();
             Optional<SSOConfig> cfgOpt = ssoConfigRepository.findByTenantAndProvider(tenant, SSOProvider.SAML);
 
-            if (cfgOpt.isEmpty() || !Boolean.TRUE.equals(cfgOpt.get().getEnabled()) || cfgOpt.get().getSamlSsoUrl() == null) {
+            if (cfgOpt.isEmpty() || !Boolean.TRUE.equals(cfgOpt.get().getEnabled())) {
                 return "redirect:/login.html?error=saml_not_configured";
             }
 
             SSOConfig cfg = cfgOpt.get();
-
-            String baseUrl = request.getRequestURL().toString().replace(request.getRequestURI(), request.getContextPath());
-            String acsUrl = (cfg.getSamlAcsUrl() == null || cfg.getSamlAcsUrl().isBlank())
-                    ? baseUrl + "/sso/saml/callback"
-                    : cfg.getSamlAcsUrl();
-            String issuer = (cfg.getSamlSpEntityId() == null || cfg.getSamlSpEntityId().isBlank())
-                    ? baseUrl + "/sso/saml/metadata"
-                    : cfg.getSamlSpEntityId();
-
-            String authnRequest = """
-                <samlp:AuthnRequest xmlns:samlp="urn:oasis:names:tc:SAML:2.0:protocol"
-                    ID="_%s"
-                    Version="2.0"
-                    IssueInstant="%s"
-                    ProtocolBinding="urn:oasis:names:tc:SAML:2.0:bindings:HTTP-POST"
-                    AssertionConsumerServiceURL="%s">
-                    <saml:Issuer xmlns:saml="urn:oasis:names:tc:SAML:2.0:assertion">%s</saml:Issuer>
-                    <samlp:NameIDPolicy AllowCreate="true"
-                        Format="urn:oasis:names:tc:SAML:1.1:nameid-format:emailAddress"/>
-                </samlp:AuthnRequest>
-                """.formatted(UUID.randomUUID(), java.time.Instant.now().toString(), acsUrl, issuer);
-
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            try (DeflaterOutputStream ds = new DeflaterOutputStream(out, new Deflater(Deflater.DEFLATED, true))) {
-                ds.write(authnRequest.getBytes(StandardCharsets.UTF_8));
+            String ssoUrl = cfg.getSamlSsoUrl();
+            if (ssoUrl == null || ssoUrl.isBlank()) {
+                ssoUrl = samlIdpMetadataCache.get(cfg).map(SamlIdpMetadata::ssoUrl).orElse(null);
+            }
+            if (ssoUrl == null) {
+                return SamlIdpMetadataCache.sourceOf(cfg) != null
+                        ? "redirect:/login.html?error=idp_metadata_unavailable"
+                        : "redirect:/login.html?error=saml_not_configured";
             }
-            String samlRequest = Base64.getEncoder().encodeToString(out.toByteArray());
-            String encoded = URLEncoder.encode(samlRequest, StandardCharsets.UTF_8);
 
-            return "redirect:" + cfg.getSamlSsoUrl() + "?SAMLRequest=" + encoded;
+            SamlSpProfileCache.Profile profile = samlSpProfileCache.profile(tenant.getId(), cfg, baseUrl(request));
+            String encoded = samlSpProfileCache.encodedAuthnRequest(tenant.getId(), profile);
+
+            return "redirect:" + ssoUrl + "?SAMLRequest=" + encoded;
 
         } catch (Exception e) {
             log.error("Error initiating SAML login", e);
@@ -83,82 +65,35 @@ public class SAMLSSOController {
     }
 
     @PostMapping("/callback")
-    public String samlCallback(@RequestParam(value = "SAMLResponse", required = false) String samlResponse,
-                               HttpServletRequest request) {
-        try {
-            if (samlResponse == null || samlResponse.isBlank()) {
-                return "redirect:/login.html?error=no_saml_response";
-            }
-
-            final Tenant tenant = tenantService.getCurrentTenant();
-
-            byte[] decoded = Base64.getDecoder().decode(samlResponse);
-            String xml = new String(decoded, StandardCharsets.UTF_8);
-
-            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
-                    .parse(new java.io.ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
-            document.getDocumentElement().normalize();
-
-            String email;
-            if (document.getElementsByTagName("saml:NameID").getLength() > 0) {
-                email = document.getElementsByTagName("saml:NameID").item(0).getTextContent();
-            } else if (document.getElementsByTagName("NameID").getLength() > 0) {
-                email = document.getElementsByTagName("NameID").item(0).getTextContent();
-            } else {
-                email = null;
-            }
-            if (email == null || email.isBlank()) {
-                return "redirect:/login.html?error=invalid_saml_response";
-            }
-
-            final User user = userRepository.findByEmailAndTenant(email, tenant).orElseGet(() -> {
-                User u = User.builder()
-                        .email(email)
-                        .firstName("SSO")
-                        .lastName("User")
-                        .password("{noop}SSO_USER")
-                        .role(Role.END_USER)
-                        .active(true)
-                        .tenant(tenant)
-                        .build();
-                return userRepository.save(u);
-            });
-
-            String appToken = jwtTokenProvider.generateToken(
-                    user.getId(), user.getEmail(), user.getRole(), tenant.getId()
-            );
-
-            var auth = new UsernamePasswordAuthenticationToken(
-                    user.getEmail(), null, List.of(new SimpleGrantedAuthority(user.getRole().name()))
-            );
-            SecurityContextHolder.getContext().setAuthentication(auth);
-
-            String redirectUrl = switch (user.getRole()) {
-                case SUPER_ADMIN -> "/super-admin-dashboard.html";
-                case CUSTOMER_ADMIN -> "/customer-admin-dashboard.html";
-                case END_USER -> "/end-user-dashboard.html";
-            };
-
-            return "redirect:/login.html?token=" + URLEncoder.encode(appToken, StandardCharsets.UTF_8);
-
-        } catch (Exception e) {
-            log.error("SAML callback error", e);
-            return "redirect:/login.html?error=saml_auth_failed";
-        }
+    public CompletableFuture<String> samlCallback(HttpServletRequest request) {
+        return ssoLoginPipeline.complete(SSOProvider.SAML, request);
     }
 
+    /**
+     * SP metadata for the tenant on this host, served from the profile cache. The ETag lets
+     * IdPs polling this URL get a 304 until the tenant's SAML settings change.
+     */
     @GetMapping(value = "/metadata", produces = "application/xml")
-    @ResponseBody
-    public String metadata(HttpServletRequest request) {
-        String baseUrl = request.getRequestURL().toString().replace(request.getRequestURI(), request.getContextPath());
-        String entityId = baseUrl + "/sso/saml/metadata";
-        String acsUrl   = baseUrl + "/sso/saml/callback";
+    public ResponseEntity<byte[]> metadata(HttpServletRequest request) {
+        Long tenantId = null;
+        SSOConfig cfg = null;
+        try {
+            Tenant tenant = tenantService.getCurrentTenant();
+            tenantId = tenant.getId();
+            cfg = ssoConfigRepository.findByTenantAndProvider(tenant, SSOProvider.SAML).orElse(null);
+        } catch (TenantNotFoundException e) {
+            // No tenant on this host: publish the defaults derived from the URL
+        }
+
+        SamlSpProfileCache.Profile profile = samlSpProfileCache.profile(tenantId, cfg, baseUrl(request));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_XML)
+                .cacheControl(CacheControl.noCache())
+                .eTag(profile.metadataEtag())
+                .body(profile.metadata());
+    }
 
-        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
-                + "<EntityDescriptor xmlns=\"urn:oasis:names:tc:SAML:2.0:metadata\" entityID=\"" + entityId + "\">"
-                + "<SPSSODescriptor WantAssertionsSigned=\"false\" AuthnRequestsSigned=\"false\" protocolSupportEnumeration=\"urn:oasis:names:tc:SAML:2.0:protocol\">"
-                + "<AssertionConsumerService Binding=\"urn:oasis:names:tc:SAML:2.0:bindings:HTTP-POST\" Location=\"" + acsUrl + "\" index=\"1\"/>"
-                + "</SPSSODescriptor>"
-                + "</EntityDescriptor>";
+    private static String baseUrl(HttpServletRequest request) {
+        return request.getRequestURL().toString().replace(request.getRequestURI(), request.getContextPath());
     }
 }
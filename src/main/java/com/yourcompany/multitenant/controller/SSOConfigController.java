@@ -5,8 +5,10 @@ import com.yourcompany.multitenant.model.SSOConfig;
 import com.yourcompany.multitenant.model.SSOProvider;
 import com.yourcompany.multitenant.model.Tenant;
 import com.yourcompany.multitenant.repository.SSOConfigRepository;
+import com.yourcompany.multitenant.service.SSOConfigChangedEvent;
 import com.yourcompany.multitenant.service.TenantService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +23,7 @@ public class SSOConfigController {
 
     private final SSOConfigRepository ssoConfigRepository;
     private final TenantService tenantService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ------------------ ADMIN ENDPOINTS ------------------
 
@@ -62,6 +65,8 @@ public class SSOConfigController {
                         .build());
 
         config.setEnabled(dto.getEnabled());
+        config.setIdpConnectTimeoutMs(dto.getIdpConnectTimeoutMs());
+        config.setIdpReadTimeoutMs(dto.getIdpReadTimeoutMs());
 
         // Map fields based on provider
         switch (provider) {
@@ -75,6 +80,7 @@ public class SSOConfigController {
                 config.setIdpEntityId(dto.getIdpEntityId());
                 config.setSamlSsoUrl(dto.getSamlSsoUrl());
                 config.setSamlCertificate(dto.getSamlCertificate());
+                config.setSamlMetadataUrl(dto.getSamlMetadataUrl());
                 config.setSamlSpEntityId(dto.getSamlSpEntityId());
                 config.setSamlAcsUrl(dto.getSamlAcsUrl());
             }
@@ -87,10 +93,14 @@ public class SSOConfigController {
                 config.setOauthUserInfoUrl(dto.getOauthUserInfoUrl());
                 config.setOauthRedirectUri(dto.getOauthRedirectUri());
                 config.setOauthScopes(dto.getOauthScopes());
+                config.setOauthOidcEnabled(dto.getOauthOidcEnabled());
+                config.setOauthIssuerUri(dto.getOauthIssuerUri());
+                config.setOauthJwksUrl(dto.getOauthJwksUrl());
             }
         }
 
         config = ssoConfigRepository.save(config);
+        eventPublisher.publishEvent(new SSOConfigChangedEvent(config.getId(), tenant.getId(), provider, config));
         return ResponseEntity.ok(convertToDTO(config));
     }
 
@@ -104,6 +114,7 @@ public class SSOConfigController {
                 .orElseThrow(() -> new IllegalArgumentException("SSO config not found"));
 
         ssoConfigRepository.delete(config);
+        eventPublisher.publishEvent(new SSOConfigChangedEvent(config.getId(), tenant.getId(), ssoProvider, null));
         return ResponseEntity.noContent().build();
     }
 
@@ -113,12 +124,15 @@ public class SSOConfigController {
                 .id(config.getId())
                 .provider(config.getProvider().name())
                 .enabled(config.getEnabled())
+                .idpConnectTimeoutMs(config.getIdpConnectTimeoutMs())
+                .idpReadTimeoutMs(config.getIdpReadTimeoutMs())
                 .jwtSecret(config.getJwtSecret())
                 .jwtCertificate(config.getJwtCertificate())
                 .jwtUrl(config.getJwtUrl())
                 .jwtIssuer(config.getJwtIssuer())
                 .samlSsoUrl(config.getSamlSsoUrl())
                 .samlCertificate(config.getSamlCertificate())
+                .samlMetadataUrl(config.getSamlMetadataUrl())
                 .samlSpEntityId(config.getSamlSpEntityId())
                 .samlAcsUrl(config.getSamlAcsUrl())
                 .oauthClientId(config.getOauthClientId())
@@ -128,6 +142,9 @@ public class SSOConfigController {
                 .oauthUserInfoUrl(config.getOauthUserInfoUrl())
                 .oauthRedirectUri(config.getOauthRedirectUri())
                 .oauthScopes(config.getOauthScopes())
+                .oauthOidcEnabled(config.getOauthOidcEnabled())
+                .oauthIssuerUri(config.getOauthIssuerUri())
+                .oauthJwksUrl(config.getOauthJwksUrl())
                 .build();
     }
 }
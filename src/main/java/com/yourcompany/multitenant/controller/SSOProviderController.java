@@ -1,10 +1,10 @@
 // SSOProviderController.java
 package com.yourcompany.multitenant.controller;
 
-import com.yourcompany.multitenant.model.SSOConfig;
-import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.exception.TenantNotFoundException;
 import com.yourcompany.multitenant.model.Tenant;
-import com.yourcompany.multitenant.repository.SSOConfigRepository;
+import com.yourcompany.multitenant.service.SsoProviderOption;
+import com.yourcompany.multitenant.service.SsoProviderService;
 import com.yourcompany.multitenant.service.TenantService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +20,7 @@ import java.util.*;
 public class SSOProviderController {
 
     private final TenantService tenantService;
-    private final SSOConfigRepository ssoConfigRepository;
+    private final SsoProviderService ssoProviderService;
 
     @GetMapping("/providers")
     public ResponseEntity<?> getProviders() {
@@ -31,38 +31,13 @@ public class SSOProviderController {
                 return ResponseEntity.badRequest().body(Map.of("error", "Tenant not identified"));
             }
 
-            List<SSOConfig> configs = ssoConfigRepository.findByTenant(tenant);
-            Map<SSOProvider, Boolean> enabledMap = new EnumMap<>(SSOProvider.class);
+            List<SsoProviderOption> providers = ssoProviderService.providers(tenant);
 
-            // Initialize all providers as disabled by default
-            for (SSOProvider provider : SSOProvider.values()) {
-                enabledMap.put(provider, false);
-            }
-
-            // Update with actual enabled status from DB
-            if (configs != null && !configs.isEmpty()) {
-                for (SSOConfig config : configs) {
-                    enabledMap.put(config.getProvider(), Boolean.TRUE.equals(config.getEnabled()));
-                }
-            }
-
-            // Prepare response list
-            List<Map<String, Object>> providers = new ArrayList<>();
-            enabledMap.forEach((provider, enabled) -> {
-                Map<String, Object> entry = new LinkedHashMap<>();
-                entry.put("provider", provider.name());
-                entry.put("enabled", enabled);
-                entry.put("loginUrl", switch (provider) {
-                    case SAML -> "/sso/saml/login";
-                    case JWT -> "/sso/jwt/login";
-                    case OAUTH -> "/sso/oauth/login";
-                });
-                providers.add(entry);
-            });
-
-            log.info("✅ Returning SSO provider states for tenant '{}': {}", tenant.getSubdomain(), providers);
+            log.debug("Returning {} SSO provider state(s) for tenant '{}'", providers.size(), tenant.getSubdomain());
             return ResponseEntity.ok(providers);
 
+        } catch (TenantNotFoundException e) {
+            throw e; // 404 via GlobalExceptionHandler; unknown hosts are not server errors
         } catch (Exception e) {
             log.error("🔥 Error fetching SSO providers", e);
             return ResponseEntity.internalServerError().body(Map.of(
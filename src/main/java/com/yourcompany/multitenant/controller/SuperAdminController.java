@@ -3,6 +3,11 @@ package com.yourcompany.multitenant.controller;
 import com.yourcompany.multitenant.dto.CreateUserRequest;
 import com.yourcompany.multitenant.dto.UpdateUserRequest;
 import com.yourcompany.multitenant.dto.UserDTO;
+import com.yourcompany.multitenant.monitoring.QueryStatistics;
+import com.yourcompany.multitenant.monitoring.RecentSpans;
+import com.yourcompany.multitenant.repository.TenantUsageRepository;
+import com.yourcompany.multitenant.service.IdpCircuitBreakers;
+import com.yourcompany.multitenant.service.TenantUsageService;
 import com.yourcompany.multitenant.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -19,6 +25,10 @@ import java.util.List;
 public class SuperAdminController {
 
     private final UserService userService;
+    private final IdpCircuitBreakers idpCircuitBreakers;
+    private final RecentSpans recentSpans;
+    private final QueryStatistics queryStatistics;
+    private final TenantUsageService tenantUsageService;
 
     /**
      * 🟩 Get all Customer Admins across all tenants
@@ -57,4 +67,43 @@ public class SuperAdminController {
         userService.deleteUser(userId);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * 🟩 Circuit breaker / bulkhead state for every IdP host the app has called
+     */
+    @GetMapping("/idp-circuits")
+    public ResponseEntity<List<IdpCircuitBreakers.Snapshot>> getIdpCircuits() {
+        return ResponseEntity.ok(idpCircuitBreakers.snapshot());
+    }
+
+    /**
+     * 🟩 Recently finished request traces (in-memory exporter), newest first
+     */
+    @GetMapping("/traces")
+    public ResponseEntity<List<RecentSpans.Trace>> getRecentTraces(
+            @RequestParam(required = false) String tenant,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(recentSpans.traces(tenant, Math.min(Math.max(limit, 1), 200)));
+    }
+
+    /**
+     * 🟩 Query time, slow queries and entity loads per tenant and endpoint, plus Hibernate statistics
+     */
+    @GetMapping("/query-stats")
+    public ResponseEntity<QueryStatistics.Report> getQueryStats(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(queryStatistics.report(Math.min(Math.max(limit, 1), 500)));
+    }
+
+    /**
+     * 🟩 Usage per tenant in hourly or daily buckets (UTC), busiest tenants first;
+     * from/to are ISO-8601 instants
+     */
+    @GetMapping("/usage")
+    public ResponseEntity<List<TenantUsageRepository.UsageBucket>> getTenantUsage(
+            @RequestParam(required = false) String tenant,
+            @RequestParam(defaultValue = "hour") String granularity,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        return ResponseEntity.ok(tenantUsageService.usage(tenant, granularity, from, to));
+    }
 }
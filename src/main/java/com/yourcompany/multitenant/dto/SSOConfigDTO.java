@@ -10,6 +10,8 @@ public class SSOConfigDTO {
     private Long id;
     private String provider;
     private Boolean enabled;
+    private Integer idpConnectTimeoutMs;
+    private Integer idpReadTimeoutMs;
 
     // 🔹 JWT Fields
     private String jwtUrl;
@@ -21,6 +23,7 @@ public class SSOConfigDTO {
     private String idpEntityId;
     private String samlSsoUrl;
     private String samlCertificate;
+    private String samlMetadataUrl;
     private String samlSpEntityId;
     private String samlAcsUrl;
 
@@ -32,4 +35,7 @@ public class SSOConfigDTO {
     private String oauthUserInfoUrl;
     private String oauthRedirectUri;
     private String oauthScopes;
+    private Boolean oauthOidcEnabled;
+    private String oauthIssuerUri;
+    private String oauthJwksUrl;
 }
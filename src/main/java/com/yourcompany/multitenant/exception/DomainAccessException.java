@@ -1,6 +1,6 @@
 package com.yourcompany.multitenant.exception;
 
-public class DomainAccessException extends RuntimeException {
+public class DomainAccessException extends DomainException {
     public DomainAccessException(String message) {
         super(message);
     }
@@ -0,0 +1,14 @@
+package com.yourcompany.multitenant.exception;
+
+/**
+ * Base of the expected, client-caused failures (unknown tenant, wrong domain, rejected
+ * SSO callback, ...). These are thrown at whatever rate clients or attackers choose, so
+ * they carry no stack trace: filling one in costs far more than the rest of a typical
+ * rejection, and the handlers only log the message.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,11 @@
+package com.yourcompany.multitenant.exception;
+
+/**
+ * An outbound IdP call was refused locally because that IdP's circuit is open or its
+ * concurrency limit is reached.
+ */
+public class IdpUnavailableException extends DomainException {
+    public IdpUnavailableException(String message) {
+        super(message);
+    }
+}
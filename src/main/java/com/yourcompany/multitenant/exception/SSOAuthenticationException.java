@@ -1,7 +1,7 @@
 // SSOAuthenticationException.java
 package com.yourcompany.multitenant.exception;
 
-public class SSOAuthenticationException extends RuntimeException {
+public class SSOAuthenticationException extends DomainException {
     public SSOAuthenticationException(String message) {
         super(message);
     }
@@ -0,0 +1,11 @@
+package com.yourcompany.multitenant.exception;
+
+/**
+ * No cached IdP signing key can check a token yet: metadata hasn't loaded, the last fetch
+ * failed, or the IdP rotated to a kid that isn't cached. Says nothing about the token itself.
+ */
+public class SigningKeyUnavailableException extends SSOAuthenticationException {
+    public SigningKeyUnavailableException(String message) {
+        super(message);
+    }
+}
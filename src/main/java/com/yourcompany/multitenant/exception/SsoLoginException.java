@@ -0,0 +1,23 @@
+package com.yourcompany.multitenant.exception;
+
+/**
+ * An SSO callback was rejected. {@code errorCode} is what the login page receives as
+ * {@code ?error=...}.
+ */
+public class SsoLoginException extends DomainException {
+
+    private final String errorCode;
+
+    public SsoLoginException(String errorCode, String message) {
+        super(message);
+        this.errorCode = errorCode;
+    }
+
+    public SsoLoginException(String errorCode) {
+        this(errorCode, errorCode);
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
@@ -1,7 +1,7 @@
 // TenantNotFoundException.java
 package com.yourcompany.multitenant.exception;
 
-public class TenantNotFoundException extends RuntimeException {
+public class TenantNotFoundException extends DomainException {
     public TenantNotFoundException(String message) {
         super(message);
     }
@@ -1,7 +1,7 @@
 // UnauthorizedAccessException.java
 package com.yourcompany.multitenant.exception;
 
-public class UnauthorizedAccessException extends RuntimeException {
+public class UnauthorizedAccessException extends DomainException {
     public UnauthorizedAccessException(String message) {
         super(message);
     }
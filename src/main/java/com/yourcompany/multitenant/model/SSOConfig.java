@@ -38,6 +38,13 @@ public class SSOConfig {
     @Column(name = "idp_entity_id")
     private String idpEntityId;
 
+    // Outbound IdP call timeouts (null = application defaults)
+    @Column(name = "idp_connect_timeout_ms")
+    private Integer idpConnectTimeoutMs;
+
+    @Column(name = "idp_read_timeout_ms")
+    private Integer idpReadTimeoutMs;
+
     // JWT specific fields
     @Column(name = "jwt_secret")
     private String jwtSecret;
@@ -58,6 +65,10 @@ public class SSOConfig {
     @Column(name = "saml_certificate", length = 4096)
     private String samlCertificate;
 
+    // Optional: IdP metadata document; SSO URL and signing certificates are taken from it
+    @Column(name = "saml_metadata_url", length = 512)
+    private String samlMetadataUrl;
+
     @Column(name = "saml_sp_entity_id")
     private String samlSpEntityId;
 
@@ -86,6 +97,16 @@ public class SSOConfig {
     @Column(name = "oauth_scopes")
     private String oauthScopes; // Comma-separated
 
+    // OIDC: take the identity from a locally verified id_token instead of calling userinfo
+    @Column(name = "oauth_oidc_enabled")
+    private Boolean oauthOidcEnabled;
+
+    @Column(name = "oauth_issuer_uri", length = 512)
+    private String oauthIssuerUri;
+
+    @Column(name = "oauth_jwks_url", length = 512)
+    private String oauthJwksUrl;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -119,6 +140,12 @@ public class SSOConfig {
     public String getIdpEntityId() { return idpEntityId; }
     public void setIdpEntityId(String idpEntityId) { this.idpEntityId = idpEntityId; }
 
+    public Integer getIdpConnectTimeoutMs() { return idpConnectTimeoutMs; }
+    public void setIdpConnectTimeoutMs(Integer idpConnectTimeoutMs) { this.idpConnectTimeoutMs = idpConnectTimeoutMs; }
+
+    public Integer getIdpReadTimeoutMs() { return idpReadTimeoutMs; }
+    public void setIdpReadTimeoutMs(Integer idpReadTimeoutMs) { this.idpReadTimeoutMs = idpReadTimeoutMs; }
+
     public String getJwtSecret() { return jwtSecret; }
     public void setJwtSecret(String jwtSecret) { this.jwtSecret = jwtSecret; }
 
@@ -137,6 +164,9 @@ public class SSOConfig {
     public String getSamlCertificate() { return samlCertificate; }
     public void setSamlCertificate(String samlCertificate) { this.samlCertificate = samlCertificate; }
 
+    public String getSamlMetadataUrl() { return samlMetadataUrl; }
+    public void setSamlMetadataUrl(String samlMetadataUrl) { this.samlMetadataUrl = samlMetadataUrl; }
+
     public String getSamlSpEntityId() { return samlSpEntityId; }
     public void setSamlSpEntityId(String samlSpEntityId) { this.samlSpEntityId = samlSpEntityId; }
 
@@ -164,6 +194,15 @@ public class SSOConfig {
     public String getOauthUserInfoUrl() { return oauthUserInfoUrl; }
     public void setOauthUserInfoUrl(String oauthUserInfoUrl) { this.oauthUserInfoUrl = oauthUserInfoUrl; }
 
+    public Boolean getOauthOidcEnabled() { return oauthOidcEnabled; }
+    public void setOauthOidcEnabled(Boolean oauthOidcEnabled) { this.oauthOidcEnabled = oauthOidcEnabled; }
+
+    public String getOauthIssuerUri() { return oauthIssuerUri; }
+    public void setOauthIssuerUri(String oauthIssuerUri) { this.oauthIssuerUri = oauthIssuerUri; }
+
+    public String getOauthJwksUrl() { return oauthJwksUrl; }
+    public void setOauthJwksUrl(String oauthJwksUrl) { this.oauthJwksUrl = oauthJwksUrl; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,47 @@
+package com.yourcompany.multitenant.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * One tenant's usage in one hour, rolled up from in-memory counters by
+ * {@code TenantUsageService}. Nodes add their counts to the same row.
+ */
+@Entity
+@Table(name = "tenant_usage")
+@IdClass(TenantUsage.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantUsage {
+
+    // Plain id rather than a relation: rows of deleted tenants are simply no longer reported
+    @Id
+    @Column(name = "tenant_id")
+    private Long tenantId;
+
+    @Id
+    @Column(name = "bucket_start")
+    private Instant bucketStart;
+
+    private long requests;
+    private long logins;
+    private long ssoJwtLogins;
+    private long ssoOauthLogins;
+    private long ssoSamlLogins;
+
+    // Distinct users seen in the hour (the highest count any single node reported)
+    private int activeUsers;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long tenantId;
+        private Instant bucketStart;
+    }
+}
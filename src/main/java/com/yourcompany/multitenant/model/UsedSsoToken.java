@@ -0,0 +1,27 @@
+package com.yourcompany.multitenant.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A consumed one-time SSO identifier (JWT jti / SAML assertion ID), shared across nodes
+ * by the JDBC replay cache. Rows are purged once expired.
+ */
+@Entity
+@Table(name = "sso_used_tokens", indexes = @Index(name = "idx_sso_used_tokens_expires_at", columnList = "expires_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsedSsoToken {
+
+    // SHA-256 (hex) of the namespaced key, so arbitrary-length ids fit a fixed column
+    @Id
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,42 @@
+package com.yourcompany.multitenant.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes every {@link MeteredCache} with the same meter names Micrometer uses for
+ * Caffeine/JCache ({@code cache.gets{result=hit|miss}}, {@code cache.size}), so the hit
+ * ratio is {@code rate(cache_gets_total{result="hit"}) / rate(cache_gets_total)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMetrics implements MeterBinder {
+
+    private final List<MeteredCache> caches;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (MeteredCache cache : caches) {
+            CacheStats stats = cache.cacheStats();
+            FunctionCounter.builder("cache.gets", stats, CacheStats::hits)
+                    .tag("cache", cache.cacheName())
+                    .tag("result", "hit")
+                    .description("Lookups that found a usable entry")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", stats, CacheStats::misses)
+                    .tag("cache", cache.cacheName())
+                    .tag("result", "miss")
+                    .description("Lookups that had to build, fetch or rebuild the entry")
+                    .register(registry);
+            Gauge.builder("cache.size", cache, MeteredCache::cacheSize)
+                    .tag("cache", cache.cacheName())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.yourcompany.multitenant.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit/miss counts of one in-process cache, exported as {@code cache.gets} by
+ * {@link CacheMetrics}. Counting is a {@link LongAdder} increment, so it is cheap enough for
+ * the per-request lookups it sits on.
+ */
+public final class CacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,139 @@
+package com.yourcompany.multitenant.monitoring;
+
+import com.yourcompany.multitenant.config.TenantContext;
+import com.yourcompany.multitenant.config.TenantFilter;
+import com.yourcompany.multitenant.model.Tenant;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder events for the application's hot paths, so they line up in a
+ * recording with GC, lock and I/O events from the JVM.
+ *
+ * Each event is a plain begin()/commit() pair around the work; the JVM's duration is the
+ * event duration. With recording off, or below an event's threshold, commit() is a
+ * cheap check. Thresholds here are defaults: src/main/jfr/multitenant.jfc sets the
+ * always-on profile, see the Dockerfile.
+ */
+public final class JfrEvents {
+
+    private JfrEvents() {
+    }
+
+    /**
+     * Tenant of the work on this thread, as tenant events record it.
+     */
+    public static String currentTenant() {
+        String tenant = TenantContext.getTenantId();
+        if (tenant == null) return TenantMetricTags.NONE;
+        return TenantFilter.SUPER_ADMIN_ID.equals(tenant) ? TenantMetricTags.ROOT : tenant;
+    }
+
+    public static String tenantOf(Tenant tenant) {
+        if (tenant == null) return TenantMetricTags.NONE;
+        String subdomain = tenant.getSubdomain();
+        return subdomain == null || subdomain.isBlank() ? TenantMetricTags.ROOT : subdomain;
+    }
+
+    @Name("com.yourcompany.multitenant.TenantResolution")
+    @Label("Tenant Resolution")
+    @Description("Lookup of the current request's tenant")
+    @Category({"Multitenant", "Tenancy"})
+    @StackTrace(false)
+    @Threshold("1 ms")
+    public static final class TenantResolution extends Event {
+        @Label("Tenant")
+        public String tenant;
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    @Name("com.yourcompany.multitenant.JwtVerify")
+    @Label("JWT Verify")
+    @Description("Parse and signature check of an application JWT")
+    @Category({"Multitenant", "Authentication"})
+    @StackTrace(false)
+    @Threshold("1 ms")
+    public static final class JwtVerify extends Event {
+        @Label("Tenant")
+        public String tenant;
+        @Label("Operation")
+        @Description("validate: filter check; claims: claim read, which parses and verifies again")
+        public String operation;
+        @Label("Valid")
+        public boolean valid;
+    }
+
+    @Name("com.yourcompany.multitenant.PasswordVerify")
+    @Label("Password Verify")
+    @Description("Password hash comparison (BCrypt)")
+    @Category({"Multitenant", "Authentication"})
+    @StackTrace(false)
+    public static final class PasswordVerify extends Event {
+        @Label("Tenant")
+        public String tenant;
+        @Label("Matches")
+        public boolean matches;
+    }
+
+    @Name("com.yourcompany.multitenant.Login")
+    @Label("Password Login")
+    @Description("Username/password login, from authentication to token issue")
+    @Category({"Multitenant", "Authentication"})
+    @StackTrace(false)
+    public static final class Login extends Event {
+        @Label("Tenant")
+        public String tenant;
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    @Name("com.yourcompany.multitenant.SsoCallback")
+    @Label("SSO Callback")
+    @Description("Whole IdP callback, from config lookup to redirect")
+    @Category({"Multitenant", "SSO"})
+    @StackTrace(false)
+    public static final class SsoCallback extends Event {
+        @Label("Tenant")
+        public String tenant;
+        @Label("Provider")
+        public String provider;
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    @Name("com.yourcompany.multitenant.SsoPhase")
+    @Label("SSO Callback Phase")
+    @Description("One stage of an SSO callback (resolve_config, verify, map_claims, provision, issue_token)")
+    @Category({"Multitenant", "SSO"})
+    @StackTrace(false)
+    public static final class SsoPhase extends Event {
+        @Label("Tenant")
+        public String tenant;
+        @Label("Provider")
+        public String provider;
+        @Label("Phase")
+        public String phase;
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    @Name("com.yourcompany.multitenant.UserProvisioning")
+    @Label("User Provisioning")
+    @Description("Just-in-time upsert of an SSO user")
+    @Category({"Multitenant", "SSO"})
+    @StackTrace(false)
+    public static final class UserProvisioning extends Event {
+        @Label("Tenant")
+        public String tenant;
+        @Label("Tenant Id")
+        public long tenantId;
+        @Label("Success")
+        public boolean success;
+    }
+}
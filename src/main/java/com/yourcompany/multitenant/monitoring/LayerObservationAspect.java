@@ -0,0 +1,67 @@
+package com.yourcompany.multitenant.monitoring;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * One observation, and so one trace span, per call into the auth/user/tenant services and
+ * per repository call, named {@code UserRepository.findByEmail} etc. A slow login then
+ * shows directly whether the time went to tenant lookup, the user query, BCrypt
+ * ({@link ObservedPasswordEncoder}) or the IdP.
+ *
+ * The timers this produces ({@code service.calls}, {@code repository.calls}) are tagged
+ * with class and method only.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class LayerObservationAspect {
+
+    private final ObservationRegistry observationRegistry;
+
+    @Around("execution(public * com.yourcompany.multitenant.service.AuthService.*(..))"
+            + " || execution(public * com.yourcompany.multitenant.service.UserService.*(..))"
+            + " || execution(public * com.yourcompany.multitenant.service.TenantService.*(..))")
+    public Object observeService(ProceedingJoinPoint call) throws Throwable {
+        return observe("service.calls", call.getSignature().getDeclaringType().getSimpleName(), call);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object observeRepository(ProceedingJoinPoint call) throws Throwable {
+        return observe("repository.calls", repositoryName(call), call);
+    }
+
+    private Object observe(String name, String type, ProceedingJoinPoint call) throws Throwable {
+        String method = call.getSignature().getName();
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+                .contextualName(type + "." + method)
+                .lowCardinalityKeyValue("class", type)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return call.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    // Inherited methods (findById, save, ...) are declared on CrudRepository; name the application's interface
+    private static String repositoryName(ProceedingJoinPoint call) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(call.getThis())) {
+            if (Repository.class.isAssignableFrom(type) && type.getName().startsWith("com.yourcompany.")) {
+                return type.getSimpleName();
+            }
+        }
+        return call.getSignature().getDeclaringType().getSimpleName();
+    }
+}
@@ -0,0 +1,136 @@
+package com.yourcompany.multitenant.monitoring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Logback turbo filter that caps how many events per second each configured category
+ * (a logger name prefix) may log. Past the cap, one event in {@code sampleOneIn} still
+ * gets through (0 drops them all), and the number dropped is reported once per second
+ * the next time the category logs. Loggers outside every category are not limited.
+ *
+ * Runs before the event is created, so a suppressed event costs a counter increment
+ * rather than formatting, MDC copying and a slot in the async appender's queue.
+ * Configured in {@code logback-spring.xml}:
+ * <pre>
+ * &lt;turboFilter class="com.yourcompany.multitenant.monitoring.LogRateLimitFilter"&gt;
+ *     &lt;sampleOneIn&gt;100&lt;/sampleOneIn&gt;
+ *     &lt;limit&gt;&lt;logger&gt;com.yourcompany.multitenant.config.TenantFilter&lt;/logger&gt;&lt;eventsPerSecond&gt;5&lt;/eventsPerSecond&gt;&lt;/limit&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class LogRateLimitFilter extends TurboFilter {
+
+    public static class Limit {
+        private String logger;
+        private int eventsPerSecond;
+
+        public void setLogger(String logger) {
+            this.logger = logger;
+        }
+
+        public void setEventsPerSecond(int eventsPerSecond) {
+            this.eventsPerSecond = eventsPerSecond;
+        }
+    }
+
+    private static final class Window {
+        final String category;
+        final int limit;
+        volatile long second;
+        final AtomicInteger events = new AtomicInteger();
+        final AtomicInteger suppressed = new AtomicInteger();
+
+        Window(String category, int limit) {
+            this.category = category;
+            this.limit = limit;
+        }
+    }
+
+    private static final Window UNLIMITED = new Window("", Integer.MAX_VALUE);
+
+    private final List<Limit> limits = new ArrayList<>();
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final Map<String, Window> byLogger = new ConcurrentHashMap<>();
+    private int sampleOneIn = 100;
+    LongSupplier clock = System::currentTimeMillis;
+
+    public void addLimit(Limit limit) {
+        limits.add(limit);
+    }
+
+    public void setSampleOneIn(int sampleOneIn) {
+        this.sampleOneIn = sampleOneIn;
+    }
+
+    @Override
+    public void start() {
+        for (Limit limit : limits) {
+            if (limit.logger == null || limit.eventsPerSecond <= 0) {
+                addError("Each <limit> needs a <logger> and a positive <eventsPerSecond>");
+                return;
+            }
+            windows.put(limit.logger, new Window(limit.logger, limit.eventsPerSecond));
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isXxxEnabled() checks pass no message; only count events that would be written
+        if (!isStarted() || (format == null && t == null) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = byLogger.computeIfAbsent(logger.getName(), this::windowFor);
+        if (window == UNLIMITED) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long second = clock.getAsLong() / 1000;
+        if (second != window.second) {
+            int dropped = 0;
+            synchronized (window) {
+                if (second != window.second) {
+                    dropped = window.suppressed.getAndSet(0);
+                    window.events.set(0);
+                    window.second = second;
+                }
+            }
+            if (dropped > 0) {
+                LoggerFactory.getLogger(LogRateLimitFilter.class).warn("Suppressed {} log event(s) from {} (limit {}/s)",
+                        dropped, window.category, window.limit);
+            }
+        }
+
+        int n = window.events.incrementAndGet();
+        if (n <= window.limit || (sampleOneIn > 0 && (n - window.limit) % sampleOneIn == 0)) {
+            return FilterReply.NEUTRAL;
+        }
+        window.suppressed.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    // Longest configured prefix on a package/class boundary; the filter's own summary is never limited
+    private Window windowFor(String loggerName) {
+        if (loggerName.equals(LogRateLimitFilter.class.getName())) {
+            return UNLIMITED;
+        }
+        return windows.values().stream()
+                .filter(w -> loggerName.equals(w.category) || loggerName.startsWith(w.category + ".")
+                        || loggerName.startsWith(w.category + "$"))
+                .max(Comparator.comparingInt(w -> w.category.length()))
+                .orElse(UNLIMITED);
+    }
+}
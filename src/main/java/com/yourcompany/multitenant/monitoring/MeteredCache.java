@@ -0,0 +1,14 @@
+package com.yourcompany.multitenant.monitoring;
+
+/**
+ * A cache bean whose hit ratio and size are published by {@link CacheMetrics}.
+ */
+public interface MeteredCache {
+
+    /** Value of the {@code cache} tag; snake_case and unique across the application. */
+    String cacheName();
+
+    CacheStats cacheStats();
+
+    int cacheSize();
+}
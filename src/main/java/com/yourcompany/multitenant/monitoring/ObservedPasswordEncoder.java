@@ -0,0 +1,52 @@
+package com.yourcompany.multitenant.monitoring;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Observes the wrapped encoder (timer, trace span and JFR event); with BCrypt this is most of the CPU
+ * a password login costs, so {@code auth.password.verify} is the number to watch when
+ * tuning the work factor.
+ */
+public class ObservedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedPasswordEncoder(PasswordEncoder delegate, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return Observation.createNotStarted("auth.password.encode", observationRegistry)
+                .observe(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Observation observation = Observation.start("auth.password.verify", observationRegistry);
+        JfrEvents.PasswordVerify event = new JfrEvents.PasswordVerify();
+        event.begin();
+        boolean matches = false;
+        try (Observation.Scope scope = observation.openScope()) {
+            matches = delegate.matches(rawPassword, encodedPassword);
+            return matches;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", matches ? "match" : "mismatch").stop();
+            event.tenant = JfrEvents.currentTenant();
+            event.matches = matches;
+            event.commit();
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
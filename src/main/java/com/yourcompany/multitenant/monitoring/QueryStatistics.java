@@ -0,0 +1,217 @@
+package com.yourcompany.multitenant.monitoring;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.ObservationView;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.hibernate.Interceptor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Query timings and entity loads per tenant and endpoint, served to super admins at
+ * {@code /api/super-admin/query-stats} together with Hibernate's own statistics.
+ *
+ * Sees every statement through the DataSource proxy and every entity Hibernate
+ * materialises through its session-factory interceptor (both wired in
+ * {@code QueryStatisticsConfig}). The tenant is the one bound in {@code TenantContext},
+ * the endpoint the route pattern of the enclosing server request observation
+ * ({@code none} for work outside a request). Only statements slower than
+ * {@code app.db.slow-query.threshold-ms} are logged, without their bind parameters.
+ */
+@Slf4j
+@Component
+public class QueryStatistics implements QueryExecutionListener, Interceptor {
+
+    /** Endpoint of statements issued by a request before its handler was mapped */
+    public static final String UNMAPPED = "unmapped";
+
+    public record Row(String tenant, String endpoint, long queries, long totalMs, long maxMs,
+                      long slowQueries, long entityLoads) {}
+
+    public record SlowQuery(long atEpochMillis, String tenant, String endpoint, long durationMs, String sql) {}
+
+    public record CacheRegion(long hits, long misses, long puts, long elementsInMemory) {}
+
+    /**
+     * Hibernate's counters since startup; not split by tenant.
+     */
+    public record HibernateStats(long entityLoads, long entityFetches, long collectionLoads, long collectionFetches,
+                                 long queryExecutions, long queryExecutionMaxMs, String slowestQuery,
+                                 long secondLevelCacheHits, long secondLevelCacheMisses, long secondLevelCachePuts,
+                                 Map<String, Long> entityLoadsByEntity, Map<String, CacheRegion> cacheRegions) {}
+
+    /**
+     * @param hibernate null when {@code hibernate.generate_statistics} is off
+     */
+    public record Report(long slowQueryThresholdMs, List<Row> byTenantAndEndpoint,
+                         List<SlowQuery> recentSlowQueries, HibernateStats hibernate) {}
+
+    private record Key(String tenant, String endpoint) {}
+
+    private static final class Aggregate {
+        final LongAdder queries = new LongAdder();
+        final LongAdder totalMs = new LongAdder();
+        final LongAccumulator maxMs = new LongAccumulator(Long::max, 0);
+        final LongAdder slowQueries = new LongAdder();
+        final LongAdder entityLoads = new LongAdder();
+    }
+
+    private static final Key OVERFLOW = new Key(TenantMetricTags.OTHER, TenantMetricTags.OTHER);
+
+    // Both are resolved on first use: the JPA setup depends on this bean (interceptor),
+    // and the observation registry's handlers depend on JPA repositories
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final long thresholdMs;
+    private final int maxSqlLength;
+    private final int maxKeys;
+    private final int recentCapacity;
+    private final Map<Key, Aggregate> aggregates = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> recentSlow = new ArrayDeque<>();
+
+    public QueryStatistics(ObjectProvider<ObservationRegistry> observationRegistry,
+                           ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                           @Value("${app.db.slow-query.threshold-ms:200}") long thresholdMs,
+                           @Value("${app.db.slow-query.max-sql-length:1000}") int maxSqlLength,
+                           @Value("${app.db.slow-query.recent:100}") int recentCapacity,
+                           @Value("${app.db.query-stats.max-keys:2000}") int maxKeys) {
+        this.observationRegistry = observationRegistry;
+        this.entityManagerFactory = entityManagerFactory;
+        this.thresholdMs = thresholdMs;
+        this.maxSqlLength = maxSqlLength;
+        this.recentCapacity = recentCapacity;
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Key key = currentKey();
+        long elapsed = execInfo.getElapsedTime();
+        Aggregate aggregate = aggregate(key);
+        aggregate.queries.increment();
+        aggregate.totalMs.add(elapsed);
+        aggregate.maxMs.accumulate(elapsed);
+
+        if (elapsed < thresholdMs) return;
+        aggregate.slowQueries.increment();
+        String sql = sql(queryInfoList);
+        log.warn("Slow query {}ms tenant={} endpoint=\"{}\"{}: {}", elapsed, key.tenant(), key.endpoint(),
+                execInfo.isBatch() ? " batch=" + execInfo.getBatchSize() : "", sql);
+        SlowQuery slow = new SlowQuery(System.currentTimeMillis(), key.tenant(), key.endpoint(), elapsed, sql);
+        synchronized (recentSlow) {
+            if (recentSlow.size() >= recentCapacity) {
+                recentSlow.removeFirst();
+            }
+            recentSlow.addLast(slow);
+        }
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        aggregate(currentKey()).entityLoads.increment();
+        return false;
+    }
+
+    /**
+     * @param limit rows to return, most total query time first
+     */
+    public Report report(int limit) {
+        List<Row> rows = aggregates.entrySet().stream()
+                .map(entry -> {
+                    Aggregate a = entry.getValue();
+                    return new Row(entry.getKey().tenant(), entry.getKey().endpoint(), a.queries.sum(),
+                            a.totalMs.sum(), a.maxMs.get(), a.slowQueries.sum(), a.entityLoads.sum());
+                })
+                .sorted(Comparator.comparingLong(Row::totalMs).reversed()
+                        .thenComparing(Comparator.comparingLong(Row::entityLoads).reversed()))
+                .limit(limit)
+                .toList();
+        List<SlowQuery> slow;
+        synchronized (recentSlow) {
+            slow = new ArrayList<>(recentSlow);
+        }
+        Collections.reverse(slow);
+        return new Report(thresholdMs, rows, slow, hibernateStats());
+    }
+
+    private HibernateStats hibernateStats() {
+        EntityManagerFactory emf = entityManagerFactory.getIfAvailable();
+        if (emf == null) return null;
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        if (!stats.isStatisticsEnabled()) return null;
+
+        Map<String, Long> entityLoads = new TreeMap<>();
+        for (String entity : stats.getEntityNames()) {
+            entityLoads.put(entity.substring(entity.lastIndexOf('.') + 1), stats.getEntityStatistics(entity).getLoadCount());
+        }
+        Map<String, CacheRegion> regions = new TreeMap<>();
+        for (String region : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics r = stats.getDomainDataRegionStatistics(region);
+            regions.put(region, new CacheRegion(r.getHitCount(), r.getMissCount(), r.getPutCount(), r.getElementCountInMemory()));
+        }
+        return new HibernateStats(stats.getEntityLoadCount(), stats.getEntityFetchCount(),
+                stats.getCollectionLoadCount(), stats.getCollectionFetchCount(),
+                stats.getQueryExecutionCount(), stats.getQueryExecutionMaxTime(), stats.getQueryExecutionMaxTimeQueryString(),
+                stats.getSecondLevelCacheHitCount(), stats.getSecondLevelCacheMissCount(), stats.getSecondLevelCachePutCount(),
+                entityLoads, regions);
+    }
+
+    private Aggregate aggregate(Key key) {
+        Aggregate aggregate = aggregates.get(key);
+        if (aggregate != null) return aggregate;
+        // Tenant keys come from the Host header; past the limit everything new shares one row
+        return aggregates.computeIfAbsent(aggregates.size() < maxKeys ? key : OVERFLOW, k -> new Aggregate());
+    }
+
+    private Key currentKey() {
+        return new Key(JfrEvents.currentTenant(), currentEndpoint());
+    }
+
+    private String currentEndpoint() {
+        ObservationRegistry registry = observationRegistry.getIfAvailable();
+        ObservationView view = registry == null ? null : registry.getCurrentObservation();
+        while (view != null) {
+            if (view.getContextView() instanceof ServerRequestObservationContext server) {
+                String pattern = server.getPathPattern();
+                return pattern == null ? UNMAPPED : server.getCarrier().getMethod() + " " + pattern;
+            }
+            view = view.getContextView().getParentObservation();
+        }
+        return TenantMetricTags.NONE;
+    }
+
+    private String sql(List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .collect(Collectors.joining("; "))
+                .replaceAll("\\s+", " ");
+        return sql.length() <= maxSqlLength ? sql : sql.substring(0, maxSqlLength) + "...";
+    }
+}
@@ -0,0 +1,131 @@
+package com.yourcompany.multitenant.monitoring;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Span exporter that needs no collector: keeps the most recent finished spans in memory
+ * (served to super admins at {@code /api/super-admin/traces}) and, when
+ * {@code app.tracing.log-spans} is on, logs one line per span.
+ *
+ * Boot registers every {@link SpanExporter} bean with the tracer, so an OTLP exporter can be
+ * added next to this one without changes here.
+ */
+@Slf4j
+@Component
+public class RecentSpans implements SpanExporter {
+
+    /**
+     * @param parentSpanId null for a trace's root span
+     */
+    public record Span(String traceId, String spanId, String parentSpanId, String name,
+                       long startEpochMillis, double durationMs, boolean error,
+                       Map<String, String> attributes) {}
+
+    public record Trace(String traceId, String tenant, double durationMs, List<Span> spans) {}
+
+    private final int capacity;
+    private final boolean logSpans;
+    private final Deque<Span> spans = new ArrayDeque<>();
+
+    public RecentSpans(@Value("${app.tracing.recent-spans:2000}") int capacity,
+                       @Value("${app.tracing.log-spans:false}") boolean logSpans) {
+        this.capacity = capacity;
+        this.logSpans = logSpans;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+        List<Span> converted = new ArrayList<>(batch.size());
+        for (SpanData data : batch) {
+            Span span = convert(data);
+            converted.add(span);
+            if (logSpans) {
+                log.info("span trace={} id={} parent={} name=\"{}\" {}ms{} {}", span.traceId(), span.spanId(),
+                        span.parentSpanId(), span.name(), String.format("%.3f", span.durationMs()),
+                        span.error() ? " ERROR" : "", span.attributes());
+            }
+        }
+        synchronized (spans) {
+            for (Span span : converted) {
+                if (spans.size() >= capacity) {
+                    spans.removeFirst();
+                }
+                spans.addLast(span);
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Most recent traces first, optionally only those of one tenant.
+     */
+    public List<Trace> traces(String tenant, int limit) {
+        Map<String, List<Span>> byTrace = new LinkedHashMap<>();
+        synchronized (spans) {
+            Iterator<Span> newestFirst = spans.descendingIterator();
+            while (newestFirst.hasNext()) {
+                Span span = newestFirst.next();
+                byTrace.computeIfAbsent(span.traceId(), id -> new ArrayList<>()).add(span);
+            }
+        }
+
+        List<Trace> traces = new ArrayList<>();
+        for (Map.Entry<String, List<Span>> entry : byTrace.entrySet()) {
+            List<Span> traceSpans = entry.getValue();
+            traceSpans.sort((a, b) -> Long.compare(a.startEpochMillis(), b.startEpochMillis()));
+            String traceTenant = traceSpans.stream()
+                    .map(s -> s.attributes().get(TenantObservationFilter.TENANT_KEY))
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElse(null);
+            if (tenant != null && !tenant.equals(traceTenant)) {
+                continue;
+            }
+            double duration = traceSpans.stream().mapToDouble(Span::durationMs).max().orElse(0);
+            traces.add(new Trace(entry.getKey(), traceTenant, duration, traceSpans));
+            if (traces.size() >= limit) {
+                break;
+            }
+        }
+        return traces;
+    }
+
+    private static Span convert(SpanData data) {
+        Map<String, String> attributes = new TreeMap<>();
+        data.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        String parent = data.getParentSpanContext().isValid() ? data.getParentSpanId() : null;
+        return new Span(data.getTraceId(), data.getSpanId(), parent, data.getName(),
+                TimeUnit.NANOSECONDS.toMillis(data.getStartEpochNanos()),
+                (data.getEndEpochNanos() - data.getStartEpochNanos()) / 1_000_000.0,
+                data.getStatus().getStatusCode() == StatusCode.ERROR,
+                attributes);
+    }
+}
@@ -0,0 +1,78 @@
+package com.yourcompany.multitenant.monitoring;
+
+import com.yourcompany.multitenant.config.TenantFilter;
+import com.yourcompany.multitenant.model.Tenant;
+import com.yourcompany.multitenant.repository.TenantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Values for the {@code tenant} tag on metrics, with bounded cardinality.
+ *
+ * The tenant key on a request comes from the Host header, so it can be anything; only
+ * subdomains of tenants that actually exist are admitted as tag values, and only up to
+ * {@code app.metrics.tenant-tag.max-tenants} of them. Everything else is reported as
+ * {@code other}, the base domain as {@code root} and requests without a tenant as {@code none}.
+ */
+@Slf4j
+@Component
+public class TenantMetricTags {
+
+    public static final String ROOT = "root";
+    public static final String OTHER = "other";
+    public static final String NONE = "none";
+
+    private final TenantRepository tenantRepository;
+    private final int maxTenants;
+    private final Set<String> admitted = ConcurrentHashMap.newKeySet();
+
+    public TenantMetricTags(TenantRepository tenantRepository,
+                            @Value("${app.metrics.tenant-tag.max-tenants:100}") int maxTenants) {
+        this.tenantRepository = tenantRepository;
+        this.maxTenants = maxTenants;
+    }
+
+    /**
+     * @param tenantKey the value {@link TenantFilter} bound for the request (subdomain or
+     *                  {@link TenantFilter#SUPER_ADMIN_ID}), or null
+     */
+    public String tag(String tenantKey) {
+        if (tenantKey == null) return NONE;
+        if (TenantFilter.SUPER_ADMIN_ID.equals(tenantKey)) return ROOT;
+        String key = tenantKey.toLowerCase(Locale.ROOT);
+        return admitted.contains(key) ? key : OTHER;
+    }
+
+    /**
+     * Tag for a resolved tenant; admits it if the budget allows.
+     */
+    public String tag(Tenant tenant) {
+        if (tenant == null) return NONE;
+        String subdomain = tenant.getSubdomain();
+        if (subdomain == null || subdomain.isBlank()) return ROOT;
+        String key = subdomain.toLowerCase(Locale.ROOT);
+        return admit(key) ? key : OTHER;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void admitExistingTenants() {
+        tenantRepository.findAll().forEach(this::tag);
+        log.info("Metrics carry a tenant tag for {} tenant(s) (limit {})", admitted.size(), maxTenants);
+    }
+
+    private boolean admit(String key) {
+        if (admitted.contains(key)) return true;
+        synchronized (admitted) {
+            if (admitted.size() >= maxTenants) return false;
+            admitted.add(key);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.yourcompany.multitenant.monitoring;
+
+import com.yourcompany.multitenant.config.TenantContext;
+import com.yourcompany.multitenant.config.TenantFilter;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationFilter;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the tenant subdomain to every observation, and so to every trace span, as a
+ * high-cardinality key: spans carry the real subdomain while metrics never see it (their
+ * {@code tenant} tag goes through {@link TenantMetricTags}).
+ *
+ * Filters run when an observation stops. The server request observation stops after
+ * {@link TenantFilter} has restored the thread's tenant, so it reads the request attribute
+ * instead; observations that stop on another thread (IdP calls) set the key themselves.
+ */
+@Component
+public class TenantObservationFilter implements ObservationFilter {
+
+    public static final String TENANT_KEY = "tenant.subdomain";
+
+    @Override
+    public Observation.Context map(Observation.Context context) {
+        if (context.getHighCardinalityKeyValue(TENANT_KEY) != null) {
+            return context;
+        }
+        String tenant = TenantContext.getTenantId();
+        if (tenant == null && context instanceof ServerRequestObservationContext server) {
+            tenant = (String) server.getCarrier().getAttribute(TenantFilter.TENANT_ATTRIBUTE);
+        }
+        if (tenant != null) {
+            context.addHighCardinalityKeyValue(tenantKeyValue(tenant));
+        }
+        return context;
+    }
+
+    /**
+     * @param tenantKey the value {@link TenantFilter} bound (subdomain or the base-domain id)
+     */
+    public static KeyValue tenantKeyValue(String tenantKey) {
+        return KeyValue.of(TENANT_KEY, TenantFilter.SUPER_ADMIN_ID.equals(tenantKey) ? TenantMetricTags.ROOT : tenantKey);
+    }
+}
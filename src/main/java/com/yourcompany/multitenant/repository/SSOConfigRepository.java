@@ -10,4 +10,5 @@ import java.util.Optional;
 public interface SSOConfigRepository extends JpaRepository<SSOConfig, Long> {
     Optional<SSOConfig> findByTenantAndProvider(Tenant tenant, SSOProvider provider);
     List<SSOConfig> findByTenant(Tenant tenant);
+    List<SSOConfig> findByEnabledTrue();
 }
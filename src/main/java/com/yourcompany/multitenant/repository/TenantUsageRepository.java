@@ -0,0 +1,79 @@
+package com.yourcompany.multitenant.repository;
+
+import com.yourcompany.multitenant.model.TenantUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TenantUsageRepository extends JpaRepository<TenantUsage, TenantUsage.Key> {
+
+    /**
+     * Usage of one tenant in one bucket, summed over the hourly rows it covers.
+     * {@code peakActiveUsers} is the highest hourly count.
+     */
+    interface UsageBucket {
+        String getTenant();
+        Instant getBucketStart();
+        long getRequests();
+        long getLogins();
+        long getSsoJwtLogins();
+        long getSsoOauthLogins();
+        long getSsoSamlLogins();
+        int getPeakActiveUsers();
+    }
+
+    /**
+     * Adds one flush worth of counts to the tenant's hourly row, creating it if needed.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO tenant_usage (tenant_id, bucket_start, requests, logins, "
+            + "sso_jwt_logins, sso_oauth_logins, sso_saml_logins, active_users) "
+            + "VALUES (:tenantId, :bucketStart, :requests, :logins, :ssoJwt, :ssoOauth, :ssoSaml, :activeUsers) "
+            + "ON CONFLICT (tenant_id, bucket_start) DO UPDATE SET "
+            + "requests = tenant_usage.requests + EXCLUDED.requests, "
+            + "logins = tenant_usage.logins + EXCLUDED.logins, "
+            + "sso_jwt_logins = tenant_usage.sso_jwt_logins + EXCLUDED.sso_jwt_logins, "
+            + "sso_oauth_logins = tenant_usage.sso_oauth_logins + EXCLUDED.sso_oauth_logins, "
+            + "sso_saml_logins = tenant_usage.sso_saml_logins + EXCLUDED.sso_saml_logins, "
+            + "active_users = GREATEST(tenant_usage.active_users, EXCLUDED.active_users)", nativeQuery = true)
+    int accumulate(@Param("tenantId") Long tenantId,
+                   @Param("bucketStart") Instant bucketStart,
+                   @Param("requests") long requests,
+                   @Param("logins") long logins,
+                   @Param("ssoJwt") long ssoJwtLogins,
+                   @Param("ssoOauth") long ssoOauthLogins,
+                   @Param("ssoSaml") long ssoSamlLogins,
+                   @Param("activeUsers") int activeUsers);
+
+    /**
+     * @param unit {@code hour} or {@code day} (UTC)
+     * @param tenant subdomain, or null for all tenants
+     */
+    @Query(value = "SELECT t.subdomain AS \"tenant\", "
+            + "date_trunc(:unit, u.bucket_start AT TIME ZONE 'UTC') AT TIME ZONE 'UTC' AS \"bucketStart\", "
+            + "CAST(SUM(u.requests) AS bigint) AS \"requests\", "
+            + "CAST(SUM(u.logins) AS bigint) AS \"logins\", "
+            + "CAST(SUM(u.sso_jwt_logins) AS bigint) AS \"ssoJwtLogins\", "
+            + "CAST(SUM(u.sso_oauth_logins) AS bigint) AS \"ssoOauthLogins\", "
+            + "CAST(SUM(u.sso_saml_logins) AS bigint) AS \"ssoSamlLogins\", "
+            + "MAX(u.active_users) AS \"peakActiveUsers\" "
+            + "FROM tenant_usage u JOIN tenants t ON t.id = u.tenant_id "
+            + "WHERE u.bucket_start >= :from AND u.bucket_start < :to "
+            + "AND (CAST(:tenant AS text) IS NULL OR t.subdomain = CAST(:tenant AS text)) "
+            + "GROUP BY 1, 2 ORDER BY 2, 3 DESC", nativeQuery = true)
+    List<UsageBucket> findUsage(@Param("unit") String unit,
+                                @Param("from") Instant from,
+                                @Param("to") Instant to,
+                                @Param("tenant") String tenant);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TenantUsage u WHERE u.bucketStart < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
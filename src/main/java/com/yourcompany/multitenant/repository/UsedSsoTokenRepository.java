@@ -0,0 +1,28 @@
+package com.yourcompany.multitenant.repository;
+
+import com.yourcompany.multitenant.model.UsedSsoToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface UsedSsoTokenRepository extends JpaRepository<UsedSsoToken, String> {
+
+    /**
+     * Atomically claims a token hash. Returns 1 if inserted, 0 if another request or node
+     * already claimed it.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO sso_used_tokens (token_hash, expires_at) VALUES (:tokenHash, :expiresAt) "
+            + "ON CONFLICT (token_hash) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("tokenHash") String tokenHash, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UsedSsoToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -5,7 +5,10 @@ import com.yourcompany.multitenant.model.Tenant;
 import com.yourcompany.multitenant.model.User;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,4 +27,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmailAndTenant(String email, Tenant tenant);
 
     List<User> findByTenantAndRole(Tenant tenant, Role role);
-}
\ No newline at end of file
+
+    /**
+     * Users with the given role across all tenants, with their tenant fetched in the same
+     * query (callers read the tenant of every row).
+     */
+    @EntityGraph(attributePaths = "tenant")
+    List<User> findByRole(Role role);
+
+    /**
+     * Creates the user or returns the existing one for (email, tenant) in a single atomic
+     * statement, so concurrent first logins can't trip the unique constraint. An existing
+     * row keeps its role, password and status; only blank names are filled in.
+     */
+    @Query(value = """
+            INSERT INTO users (email, first_name, last_name, password, role, active, tenant_id)
+            VALUES (:email, :firstName, :lastName, :password, :role, true, :tenantId)
+            ON CONFLICT (email, tenant_id) DO UPDATE SET
+                first_name = COALESCE(NULLIF(users.first_name, ''), EXCLUDED.first_name),
+                last_name = COALESCE(NULLIF(users.last_name, ''), EXCLUDED.last_name)
+            RETURNING *
+            """, nativeQuery = true)
+    User upsertByEmailAndTenant(@Param("email") String email,
+                                @Param("firstName") String firstName,
+                                @Param("lastName") String lastName,
+                                @Param("password") String password,
+                                @Param("role") String role,
+                                @Param("tenantId") Long tenantId);
+}
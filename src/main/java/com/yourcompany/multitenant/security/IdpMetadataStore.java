@@ -0,0 +1,26 @@
+package com.yourcompany.multitenant.security;
+
+import com.yourcompany.multitenant.model.SSOConfig;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * A cache of remote IdP metadata (discovery documents, JWKS, SAML metadata) that is kept
+ * warm by {@link com.yourcompany.multitenant.service.IdpMetadataPrefetcher}. Lookups on
+ * the login path only ever read from the store; all fetching goes through {@link #refresh}.
+ */
+public interface IdpMetadataStore {
+
+    /**
+     * Registers and returns the remote sources a config depends on; empty when the config
+     * only uses inline settings.
+     */
+    Collection<String> track(SSOConfig cfg);
+
+    /**
+     * Fetches one source and replaces its cached entry. Completes empty when another
+     * refresh of the same source is already in flight.
+     */
+    Mono<Void> refresh(String source);
+}
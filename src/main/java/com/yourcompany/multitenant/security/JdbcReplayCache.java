@@ -0,0 +1,73 @@
+package com.yourcompany.multitenant.security;
+
+import com.yourcompany.multitenant.repository.UsedSsoTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * {@link ReplayCache} shared by all nodes through the {@code sso_used_tokens} table.
+ *
+ * A local {@link TimingWheelReplayCache} sits in front as a near-cache: replays seen by
+ * this node are rejected without touching the database, and each new key costs a single
+ * {@code INSERT ... ON CONFLICT DO NOTHING}. A key whose insert fails is taken out of the
+ * near-cache again, so it is never remembered on this node only.
+ */
+@Slf4j
+public class JdbcReplayCache implements ReplayCache {
+
+    private final UsedSsoTokenRepository repository;
+    private final TimingWheelReplayCache nearCache;
+    private final Duration minTtl;
+    private final Duration maxTtl;
+
+    public JdbcReplayCache(UsedSsoTokenRepository repository, TimingWheelReplayCache nearCache,
+                           Duration minTtl, Duration maxTtl) {
+        this.repository = repository;
+        this.nearCache = nearCache;
+        this.minTtl = minTtl;
+        this.maxTtl = maxTtl;
+    }
+
+    @Override
+    public boolean markUsed(String key, Instant expiresAt) {
+        if (!nearCache.markUsed(key, expiresAt)) {
+            return false;
+        }
+        Instant now = Instant.now();
+        Instant minExpiry = now.plus(minTtl);
+        Instant maxExpiry = now.plus(maxTtl);
+        Instant expiry = expiresAt == null || expiresAt.isAfter(maxExpiry) ? maxExpiry
+                : expiresAt.isBefore(minExpiry) ? minExpiry
+                : expiresAt;
+        try {
+            return repository.insertIfAbsent(sha256(key), expiry) == 1;
+        } catch (RuntimeException e) {
+            nearCache.forget(key);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sso.replay-cache.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired SSO replay entries", purged);
+        }
+    }
+
+    private static String sha256(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.yourcompany.multitenant.security;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -23,7 +25,11 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Request attribute holding the authenticated user's id, for usage accounting once the request completes
+    public static final String USER_ID_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".userId";
+
     private final JwtTokenProvider tokenProvider;
+    private final ObservationRegistry observationRegistry;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
@@ -40,7 +46,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
+            if (StringUtils.hasText(jwt) && validate(jwt)) {
                 Long userId = tokenProvider.getUserIdFromToken(jwt);
                 String email = tokenProvider.getEmailFromToken(jwt);
                 String role = tokenProvider.getRoleFromToken(jwt).name();
@@ -53,6 +59,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(auth);
+                request.setAttribute(USER_ID_ATTRIBUTE, userId);
             } else if (StringUtils.hasText(jwt)) {
                 log.warn("Invalid or expired JWT token detected in request: {}", request.getRequestURI());
             }
@@ -63,6 +70,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private boolean validate(String jwt) {
+        Observation observation = Observation.start("auth.jwt.verify", observationRegistry);
+        boolean valid = false;
+        try (Observation.Scope scope = observation.openScope()) {
+            valid = tokenProvider.validateToken(jwt);
+            return valid;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", valid ? "valid" : "invalid").stop();
+        }
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         // 1️⃣ Check Authorization Header
         String bearerToken = request.getHeader("Authorization");
@@ -0,0 +1,106 @@
+package com.yourcompany.multitenant.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.yourcompany.multitenant.exception.SSOAuthenticationException;
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.monitoring.CacheStats;
+import com.yourcompany.multitenant.monitoring.MeteredCache;
+import com.yourcompany.multitenant.service.SSOConfigChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.RSAPublicKey;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Ready-to-use {@link JWSVerifier}s for JWT SSO callbacks, one per SSO config and key type.
+ *
+ * Entries are versioned by the config's {@code updatedAt}, so a verifier built from an old
+ * secret or certificate is never reused; saving or deleting a config through
+ * SSOConfigController also evicts it right away.
+ */
+@Component
+public class JwtSsoVerifierCache implements MeteredCache {
+
+    private enum Kind { HMAC, X509 }
+
+    private record Key(Long configId, Kind kind) {}
+
+    private record Entry(LocalDateTime version, JWSVerifier verifier) {}
+
+    private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+    private final CacheStats stats = new CacheStats();
+
+    public JWSVerifier hmacVerifier(SSOConfig cfg) {
+        return get(cfg, Kind.HMAC, c -> buildHmacVerifier(c.getJwtSecret()));
+    }
+
+    public JWSVerifier certificateVerifier(SSOConfig cfg) {
+        return get(cfg, Kind.X509, c -> buildCertificateVerifier(c.getJwtCertificate()));
+    }
+
+    @EventListener
+    public void onConfigChanged(SSOConfigChangedEvent event) {
+        cache.keySet().removeIf(key -> key.configId().equals(event.configId()));
+    }
+
+    private JWSVerifier get(SSOConfig cfg, Kind kind, Function<SSOConfig, JWSVerifier> factory) {
+        if (cfg.getId() == null) {
+            return factory.apply(cfg);
+        }
+        Entry entry = cache.compute(new Key(cfg.getId(), kind), (k, existing) -> {
+            if (existing != null && Objects.equals(existing.version(), cfg.getUpdatedAt())) {
+                stats.hit();
+                return existing;
+            }
+            stats.miss();
+            return new Entry(cfg.getUpdatedAt(), factory.apply(cfg));
+        });
+        return entry.verifier();
+    }
+
+    private static JWSVerifier buildHmacVerifier(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new SSOAuthenticationException("JWT secret not configured");
+        }
+        try {
+            return new MACVerifier(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (JOSEException e) {
+            throw new SSOAuthenticationException("JWT secret unusable: " + e.getMessage());
+        }
+    }
+
+    private static JWSVerifier buildCertificateVerifier(String certificatePEM) {
+        try {
+            X509Certificate cert = X509Certificates.fromPem(certificatePEM);
+            return new RSASSAVerifier((RSAPublicKey) cert.getPublicKey());
+        } catch (CertificateException | ClassCastException e) {
+            throw new SSOAuthenticationException("JWT certificate unusable: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String cacheName() {
+        return "jwt_sso_verifiers";
+    }
+
+    @Override
+    public CacheStats cacheStats() {
+        return stats;
+    }
+
+    @Override
+    public int cacheSize() {
+        return cache.size();
+    }
+}
@@ -1,6 +1,7 @@
 package com.yourcompany.multitenant.security;
 
 import com.yourcompany.multitenant.model.Role;
+import com.yourcompany.multitenant.monitoring.JfrEvents;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -45,14 +46,20 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
+        JfrEvents.JwtVerify event = new JfrEvents.JwtVerify();
+        event.begin();
         try {
             Jwts.parserBuilder()
                     .setSigningKey(getSigningKey())
                     .build()
                     .parseClaimsJws(token);
+            event.valid = true;
             return true;
         } catch (JwtException | IllegalArgumentException e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
+            // Client input, counted by the auth.jwt.verify observation; JwtAuthenticationFilter logs (rate-limited)
+            log.debug("Invalid JWT token: {}", e.getMessage());
+        } finally {
+            commit(event, "validate");
         }
         return false;
     }
@@ -75,11 +82,25 @@ public class JwtTokenProvider {
     }
 
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        JfrEvents.JwtVerify event = new JfrEvents.JwtVerify();
+        event.begin();
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            event.valid = true;
+            return claims;
+        } finally {
+            commit(event, "claims");
+        }
+    }
+
+    private static void commit(JfrEvents.JwtVerify event, String operation) {
+        event.tenant = JfrEvents.currentTenant();
+        event.operation = operation;
+        event.commit();
     }
 
     // === EXTERNAL JWT (miniOrange / Tenant-based) METHODS ===
@@ -0,0 +1,111 @@
+package com.yourcompany.multitenant.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.yourcompany.multitenant.exception.SSOAuthenticationException;
+import com.yourcompany.multitenant.model.SSOConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Verifies OIDC id_tokens returned by a tenant's token endpoint.
+ *
+ * HMAC-signed tokens are checked with the client secret, asymmetric ones against the
+ * IdP's signing keys from {@link OidcMetadataCache} (looked up by kid, never fetched
+ * inline). Issuer, audience and expiry are validated too.
+ */
+@Component
+@RequiredArgsConstructor
+public class OidcIdTokenVerifier {
+
+    private static final long CLOCK_SKEW_MILLIS = 60_000;
+
+    private final OidcMetadataCache metadataCache;
+
+    public JWTClaimsSet verify(SSOConfig cfg, String idToken) {
+        final SignedJWT jwt;
+        try {
+            jwt = SignedJWT.parse(idToken);
+        } catch (ParseException e) {
+            throw new SSOAuthenticationException("Malformed id_token");
+        }
+
+        JWSAlgorithm alg = jwt.getHeader().getAlgorithm();
+        JWSVerifier verifier = JWSAlgorithm.Family.HMAC_SHA.contains(alg)
+                ? macVerifier(cfg)
+                : keyVerifier(metadataCache.signingKey(cfg, jwt.getHeader().getKeyID()));
+
+        return checkSignatureAndClaims(cfg, jwt, verifier);
+    }
+
+    private JWSVerifier macVerifier(SSOConfig cfg) {
+        String secret = cfg.getOauthClientSecret();
+        if (secret == null || secret.isBlank()) {
+            throw new SSOAuthenticationException("No client secret to verify HMAC id_token");
+        }
+        try {
+            return new MACVerifier(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (JOSEException e) {
+            throw new SSOAuthenticationException("Client secret unusable for HMAC id_token: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Builds a verifier for an IdP signing key published in a JWKS.
+     */
+    public static JWSVerifier keyVerifier(JWK jwk) {
+        try {
+            if (jwk instanceof RSAKey rsa) return new RSASSAVerifier(rsa);
+            if (jwk instanceof ECKey ec) return new ECDSAVerifier(ec);
+        } catch (JOSEException e) {
+            throw new SSOAuthenticationException("Unusable IdP signing key " + jwk.getKeyID());
+        }
+        throw new SSOAuthenticationException("Unsupported IdP key type " + jwk.getKeyType());
+    }
+
+    private JWTClaimsSet checkSignatureAndClaims(SSOConfig cfg, SignedJWT jwt, JWSVerifier verifier) {
+        try {
+            if (!jwt.verify(verifier)) {
+                throw new SSOAuthenticationException("id_token signature invalid");
+            }
+            JWTClaimsSet claims = jwt.getJWTClaimsSet();
+
+            String expectedIssuer = cfg.getOauthIssuerUri();
+            if (expectedIssuer != null && !expectedIssuer.isBlank() && !expectedIssuer.equals(claims.getIssuer())) {
+                throw new SSOAuthenticationException("id_token issuer mismatch");
+            }
+
+            List<String> audience = claims.getAudience();
+            if (audience == null || !audience.contains(cfg.getOauthClientId())) {
+                throw new SSOAuthenticationException("id_token audience mismatch");
+            }
+
+            long now = System.currentTimeMillis();
+            Date exp = claims.getExpirationTime();
+            if (exp == null || exp.getTime() + CLOCK_SKEW_MILLIS < now) {
+                throw new SSOAuthenticationException("id_token expired");
+            }
+            Date nbf = claims.getNotBeforeTime();
+            if (nbf != null && nbf.getTime() - CLOCK_SKEW_MILLIS > now) {
+                throw new SSOAuthenticationException("id_token not yet valid");
+            }
+            return claims;
+        } catch (JOSEException | ParseException e) {
+            throw new SSOAuthenticationException("id_token verification failed: " + e.getMessage());
+        }
+    }
+}
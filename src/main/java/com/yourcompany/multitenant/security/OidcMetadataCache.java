@@ -0,0 +1,256 @@
+package com.yourcompany.multitenant.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.yourcompany.multitenant.exception.SSOAuthenticationException;
+import com.yourcompany.multitenant.exception.SigningKeyUnavailableException;
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.monitoring.CacheStats;
+import com.yourcompany.multitenant.monitoring.MeteredCache;
+import com.yourcompany.multitenant.service.IdpHttpClient;
+import com.yourcompany.multitenant.service.SSOConfigChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory cache of OpenID provider metadata ({@code .well-known/openid-configuration})
+ * and JWKS signing keys for every issuer referenced by an enabled SSO config.
+ *
+ * Lookups never perform network I/O: entries are loaded when a config is saved, and
+ * {@link com.yourcompany.multitenant.service.IdpMetadataPrefetcher} refreshes every
+ * enabled tenant's sources in the background before they expire. A lookup that misses
+ * (unknown issuer, stale entry, unknown kid after a key rotation) only schedules a
+ * refresh, rate-limited per source, and returns what is cached right now.
+ *
+ * A source is either an issuer URL (discovery, then its jwks_uri) or a bare JWKS URL
+ * when the tenant configured one explicitly. Only https URLs are fetched: the keys decide
+ * which tokens are trusted, so a plain-http source is treated as no source at all. A source
+ * is dropped once no saved config refers to it any more.
+ */
+@Slf4j
+@Component
+public class OidcMetadataCache implements IdpMetadataStore, MeteredCache {
+
+    private static final String DISCOVERY_PATH = "/.well-known/openid-configuration";
+
+    private final IdpHttpClient idpHttpClient;
+    private final long ttlMillis;
+    private final long minRefreshIntervalMillis;
+
+    private final Map<String, OidcProviderMetadata> entries = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> sources = new ConcurrentHashMap<>(); // source -> isBareJwksUrl
+    private final Map<String, Long> lastAttemptMillis = new ConcurrentHashMap<>();
+    private final Map<Long, String> sourceByConfig = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final CacheStats stats = new CacheStats();
+
+    public OidcMetadataCache(IdpHttpClient idpHttpClient,
+                             @Value("${app.sso.oidc.ttl-ms:3600000}") long ttlMillis,
+                             @Value("${app.sso.oidc.min-refresh-interval-ms:30000}") long minRefreshIntervalMillis) {
+        this.idpHttpClient = idpHttpClient;
+        this.ttlMillis = ttlMillis;
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+    }
+
+    /**
+     * The cache key for a config, or {@code null} if it doesn't reference remote metadata.
+     * An explicit OAuth JWKS URL wins over the issuer; JWT configs use their issuer when it's a URL.
+     */
+    public static String sourceOf(SSOConfig cfg) {
+        if (cfg.getProvider() == SSOProvider.OAUTH) {
+            if (isUrl(cfg.getOauthJwksUrl())) return cfg.getOauthJwksUrl().trim();
+            if (isUrl(cfg.getOauthIssuerUri())) return normalizeIssuer(cfg.getOauthIssuerUri());
+        } else if (cfg.getProvider() == SSOProvider.JWT && isUrl(cfg.getJwtIssuer())) {
+            return normalizeIssuer(cfg.getJwtIssuer());
+        }
+        return null;
+    }
+
+    public Optional<OidcProviderMetadata> get(SSOConfig cfg) {
+        String source = trackConfig(cfg);
+        if (source == null) return Optional.empty();
+
+        OidcProviderMetadata entry = entries.get(source);
+        if (entry == null || isStale(entry)) {
+            stats.miss();
+            refreshAsync(source);
+        } else {
+            stats.hit();
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    /**
+     * Resolves the signing key for a token; an unknown kid triggers a background refresh
+     * (the IdP may have rotated keys) and yields {@link SigningKeyUnavailableException}, as
+     * does a lookup before the metadata has loaded.
+     */
+    public JWK signingKey(SSOConfig cfg, String kid) {
+        OidcProviderMetadata metadata = get(cfg)
+                .orElseThrow(() -> new SigningKeyUnavailableException("IdP metadata not loaded yet"));
+        JWK key = metadata.signingKey(kid);
+        if (key == null) {
+            refreshAsync(sourceOf(cfg));
+            throw new SigningKeyUnavailableException("No IdP signing key matches kid " + kid);
+        }
+        return key;
+    }
+
+    @Override
+    public Collection<String> track(SSOConfig cfg) {
+        String source = trackConfig(cfg);
+        return source == null ? List.of() : List.of(source);
+    }
+
+    @Override
+    public Mono<Void> refresh(String source) {
+        return Mono.defer(() -> {
+            if (!refreshing.add(source)) return Mono.empty();
+            lastAttemptMillis.put(source, System.currentTimeMillis());
+            return fetch(source, Boolean.TRUE.equals(sources.get(source)))
+                    .doOnNext(entry -> entries.put(source, entry))
+                    .doFinally(signal -> refreshing.remove(source))
+                    .then();
+        });
+    }
+
+    @EventListener
+    public void onConfigChanged(SSOConfigChangedEvent event) {
+        if (!event.deleted() && Boolean.TRUE.equals(event.config().getEnabled())) {
+            String source = trackConfig(event.config());
+            if (source != null) {
+                // Pick up edits immediately rather than waiting for the TTL
+                lastAttemptMillis.remove(source);
+                refreshAsync(source);
+            }
+        } else if (event.configId() != null) {
+            String previous = sourceByConfig.remove(event.configId());
+            if (previous != null) prune(previous);
+        }
+    }
+
+    private String trackConfig(SSOConfig cfg) {
+        String source = sourceOf(cfg);
+        if (source != null) {
+            track(source, cfg.getProvider() == SSOProvider.OAUTH && isUrl(cfg.getOauthJwksUrl()));
+        }
+        if (cfg.getId() != null) {
+            String previous = source == null ? sourceByConfig.remove(cfg.getId()) : sourceByConfig.put(cfg.getId(), source);
+            if (previous != null && !previous.equals(source)) prune(previous);
+        }
+        return source;
+    }
+
+    /** Forgets a source that no tracked config refers to any more. */
+    private void prune(String source) {
+        if (sourceByConfig.containsValue(source)) return;
+        sources.remove(source);
+        entries.remove(source);
+        lastAttemptMillis.remove(source);
+    }
+
+    private void track(String source, boolean bareJwksUrl) {
+        if (sources.putIfAbsent(source, bareJwksUrl) == null) {
+            refreshAsync(source);
+        }
+    }
+
+    private boolean isStale(OidcProviderMetadata entry) {
+        return System.currentTimeMillis() - entry.fetchedAtMillis() > ttlMillis;
+    }
+
+    void refreshAsync(String source) {
+        Long last = lastAttemptMillis.get(source);
+        if (last != null && System.currentTimeMillis() - last < minRefreshIntervalMillis) return;
+
+        refresh(source).subscribe(null,
+                e -> log.warn("Refreshing IdP metadata from {} failed: {}", source, e.getMessage()));
+    }
+
+    private Mono<OidcProviderMetadata> fetch(String source, boolean bareJwksUrl) {
+        if (bareJwksUrl) {
+            return fetchKeys(source).map(keys ->
+                    new OidcProviderMetadata(null, null, null, null, source, keys, System.currentTimeMillis()));
+        }
+
+        return idpHttpClient.get(null, "discovery", source + DISCOVERY_PATH, new HttpHeaders())
+                .flatMap(resp -> {
+                    if (!resp.getStatusCode().is2xxSuccessful() || resp.getBody() == null) {
+                        return Mono.error(new SSOAuthenticationException(
+                                "Discovery returned status " + resp.getStatusCode()));
+                    }
+                    JSONObject doc = new JSONObject(resp.getBody());
+                    String issuer = doc.optString("issuer", null);
+                    if (issuer == null || !normalizeIssuer(issuer).equals(source)) {
+                        return Mono.error(new SSOAuthenticationException("Discovery issuer mismatch: " + issuer));
+                    }
+                    String jwksUri = doc.optString("jwks_uri", null);
+                    if (jwksUri == null) {
+                        return Mono.error(new SSOAuthenticationException("Discovery document has no jwks_uri"));
+                    }
+                    if (!isUrl(jwksUri)) {
+                        return Mono.error(new SSOAuthenticationException("Discovery jwks_uri is not https: " + jwksUri));
+                    }
+                    return fetchKeys(jwksUri).map(keys -> new OidcProviderMetadata(
+                            issuer,
+                            doc.optString("authorization_endpoint", null),
+                            doc.optString("token_endpoint", null),
+                            doc.optString("userinfo_endpoint", null),
+                            jwksUri,
+                            keys,
+                            System.currentTimeMillis()));
+                });
+    }
+
+    private Mono<JWKSet> fetchKeys(String jwksUrl) {
+        return idpHttpClient.get(null, "jwks", jwksUrl, new HttpHeaders())
+                .map(resp -> {
+                    if (!resp.getStatusCode().is2xxSuccessful() || resp.getBody() == null) {
+                        throw new SSOAuthenticationException("JWKS fetch returned status " + resp.getStatusCode());
+                    }
+                    try {
+                        return JWKSet.parse(resp.getBody());
+                    } catch (ParseException e) {
+                        throw new SSOAuthenticationException("Malformed JWKS at " + jwksUrl);
+                    }
+                });
+    }
+
+    private static boolean isUrl(String s) {
+        return s != null && s.trim().regionMatches(true, 0, "https://", 0, 8);
+    }
+
+    private static String normalizeIssuer(String issuer) {
+        String trimmed = issuer.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    @Override
+    public String cacheName() {
+        return "oidc_metadata";
+    }
+
+    @Override
+    public CacheStats cacheStats() {
+        return stats;
+    }
+
+    @Override
+    public int cacheSize() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,28 @@
+package com.yourcompany.multitenant.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+
+/**
+ * Parsed OpenID provider metadata plus its signing keys, as held by {@link OidcMetadataCache}.
+ * Endpoints are {@code null} when the entry was built from a bare JWKS URL.
+ */
+public record OidcProviderMetadata(String issuer,
+                                   String authorizationEndpoint,
+                                   String tokenEndpoint,
+                                   String userinfoEndpoint,
+                                   String jwksUri,
+                                   JWKSet keys,
+                                   long fetchedAtMillis) {
+
+    /**
+     * Finds the signing key for a token header's kid. Tokens without a kid are accepted
+     * only when the IdP publishes exactly one key.
+     */
+    public JWK signingKey(String kid) {
+        if (kid != null) {
+            return keys.getKeyByKeyId(kid);
+        }
+        return keys.getKeys().size() == 1 ? keys.getKeys().get(0) : null;
+    }
+}
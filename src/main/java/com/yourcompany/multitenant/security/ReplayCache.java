@@ -0,0 +1,20 @@
+package com.yourcompany.multitenant.security;
+
+import java.time.Instant;
+
+/**
+ * Remembers one-time identifiers from SSO callbacks (JWT {@code jti}, SAML assertion IDs)
+ * until they expire, so the same token or assertion can't be used to log in twice.
+ *
+ * Keys should be namespaced by protocol and tenant, e.g. {@code "saml:42:_abc123"}.
+ */
+public interface ReplayCache {
+
+    /**
+     * Records {@code key} as used until {@code expiresAt} (capped at the configured maximum
+     * TTL; null means keep it for that maximum).
+     *
+     * @return true the first time a key is seen, false if it is a replay
+     */
+    boolean markUsed(String key, Instant expiresAt);
+}
@@ -0,0 +1,36 @@
+package com.yourcompany.multitenant.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The parts of a SAML 2.0 Response the login flow needs, as extracted by {@link SamlResponseReader}.
+ * Conditions and audiences are replaced with the signed values by {@link SamlResponseValidator}.
+ */
+public record SamlAssertionData(String responseId,
+                                String statusCode,
+                                String assertionId,
+                                Instant issueInstant,
+                                String issuer,
+                                String nameId,
+                                Instant notBefore,
+                                Instant notOnOrAfter,
+                                List<String> audiences,
+                                Map<String, List<String>> attributes) {
+
+    public static final String STATUS_SUCCESS = "urn:oasis:names:tc:SAML:2.0:status:Success";
+
+    /**
+     * First value of the first attribute present under any of the given names.
+     */
+    public String firstAttribute(String... names) {
+        for (String name : names) {
+            List<String> values = attributes.get(name);
+            if (values != null && !values.isEmpty() && !values.get(0).isBlank()) {
+                return values.get(0);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.yourcompany.multitenant.security;
+
+import java.security.cert.X509Certificate;
+import java.util.List;
+
+/**
+ * The parts of a SAML IdP's metadata the SP uses, as held by {@link SamlIdpMetadataCache}.
+ *
+ * @param ssoUrl                 SingleSignOnService location, HTTP-Redirect binding preferred
+ * @param signingCertificates    certificates from KeyDescriptors with use="signing" or no use
+ */
+public record SamlIdpMetadata(String entityId,
+                              String ssoUrl,
+                              List<X509Certificate> signingCertificates,
+                              long fetchedAtMillis) {}
@@ -0,0 +1,251 @@
+package com.yourcompany.multitenant.security;
+
+import com.yourcompany.multitenant.exception.SSOAuthenticationException;
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.monitoring.CacheStats;
+import com.yourcompany.multitenant.monitoring.MeteredCache;
+import com.yourcompany.multitenant.service.IdpHttpClient;
+import com.yourcompany.multitenant.service.SSOConfigChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory cache of SAML IdP metadata for every tenant that configured a metadata URL,
+ * giving the SSO URL and signing certificates without the admin pasting them in (and
+ * picking up the IdP's certificate rollovers on its own).
+ *
+ * Like {@link OidcMetadataCache}, lookups never fetch: a miss only schedules a
+ * rate-limited background refresh, and entries are kept fresh by the prefetcher.
+ */
+@Slf4j
+@Component
+public class SamlIdpMetadataCache implements IdpMetadataStore, MeteredCache {
+
+    private static final String METADATA_NS = "urn:oasis:names:tc:SAML:2.0:metadata";
+    private static final String DSIG_NS = "http://www.w3.org/2000/09/xmldsig#";
+    private static final String REDIRECT_BINDING = "urn:oasis:names:tc:SAML:2.0:bindings:HTTP-Redirect";
+
+    private final IdpHttpClient idpHttpClient;
+    private final long minRefreshIntervalMillis;
+
+    private final Map<String, SamlIdpMetadata> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastAttemptMillis = new ConcurrentHashMap<>();
+    private final Map<Long, String> sourceByConfig = new ConcurrentHashMap<>();
+    private final CacheStats stats = new CacheStats();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public SamlIdpMetadataCache(IdpHttpClient idpHttpClient,
+                                @Value("${app.sso.saml.min-refresh-interval-ms:30000}") long minRefreshIntervalMillis) {
+        this.idpHttpClient = idpHttpClient;
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+    }
+
+    public static String sourceOf(SSOConfig cfg) {
+        if (cfg.getProvider() != SSOProvider.SAML) return null;
+        String url = cfg.getSamlMetadataUrl();
+        // Metadata carries the signing certificates, so it is only trusted over https
+        return url != null && url.trim().regionMatches(true, 0, "https://", 0, 8) ? url.trim() : null;
+    }
+
+    public Optional<SamlIdpMetadata> get(SSOConfig cfg) {
+        String source = trackConfig(cfg);
+        if (source == null) return Optional.empty();
+
+        SamlIdpMetadata entry = entries.get(source);
+        if (entry == null) {
+            stats.miss();
+            refreshAsync(source);
+        } else {
+            stats.hit();
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    @Override
+    public Collection<String> track(SSOConfig cfg) {
+        String source = trackConfig(cfg);
+        return source == null ? List.of() : List.of(source);
+    }
+
+    @Override
+    public Mono<Void> refresh(String source) {
+        return Mono.defer(() -> {
+            if (!refreshing.add(source)) return Mono.empty();
+            lastAttemptMillis.put(source, System.currentTimeMillis());
+            return fetch(source)
+                    .doOnNext(entry -> entries.put(source, entry))
+                    .doFinally(signal -> refreshing.remove(source))
+                    .then();
+        });
+    }
+
+    @EventListener
+    public void onConfigChanged(SSOConfigChangedEvent event) {
+        if (!event.deleted() && Boolean.TRUE.equals(event.config().getEnabled())) {
+            String source = trackConfig(event.config());
+            if (source != null) {
+                lastAttemptMillis.remove(source);
+                refreshAsync(source);
+            }
+        } else if (event.configId() != null) {
+            String previous = sourceByConfig.remove(event.configId());
+            if (previous != null) prune(previous);
+        }
+    }
+
+    private String trackConfig(SSOConfig cfg) {
+        String source = sourceOf(cfg);
+        if (cfg.getId() != null) {
+            String previous = source == null ? sourceByConfig.remove(cfg.getId()) : sourceByConfig.put(cfg.getId(), source);
+            if (previous != null && !previous.equals(source)) prune(previous);
+        }
+        return source;
+    }
+
+    /** Drops metadata that no tracked config refers to any more. */
+    private void prune(String source) {
+        if (sourceByConfig.containsValue(source)) return;
+        entries.remove(source);
+        lastAttemptMillis.remove(source);
+    }
+
+    private void refreshAsync(String source) {
+        Long last = lastAttemptMillis.get(source);
+        if (last != null && System.currentTimeMillis() - last < minRefreshIntervalMillis) return;
+
+        refresh(source).subscribe(null,
+                e -> log.warn("Refreshing SAML IdP metadata from {} failed: {}", source, e.getMessage()));
+    }
+
+    private Mono<SamlIdpMetadata> fetch(String source) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, "application/samlmetadata+xml, application/xml, text/xml");
+        return idpHttpClient.get(null, "saml_metadata", source, headers)
+                .map(resp -> {
+                    if (!resp.getStatusCode().is2xxSuccessful() || resp.getBody() == null) {
+                        throw new SSOAuthenticationException("SAML metadata returned status " + resp.getStatusCode());
+                    }
+                    return parse(resp.getBody().getBytes(StandardCharsets.UTF_8), System.currentTimeMillis());
+                });
+    }
+
+    /**
+     * Reads the first EntityDescriptor that has an IDPSSODescriptor.
+     */
+    static SamlIdpMetadata parse(byte[] xml, long fetchedAtMillis) {
+        try {
+            XMLStreamReader reader = SamlResponseReader.newHardenedInputFactory()
+                    .createXMLStreamReader(new ByteArrayInputStream(xml));
+            try {
+                return parse(reader, fetchedAtMillis);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new SSOAuthenticationException("Malformed SAML metadata: " + e.getMessage());
+        }
+    }
+
+    private static SamlIdpMetadata parse(XMLStreamReader reader, long fetchedAtMillis) throws XMLStreamException {
+        String entityId = null;
+        String ssoUrl = null;
+        boolean ssoUrlIsRedirect = false;
+        List<X509Certificate> certificates = new ArrayList<>();
+
+        boolean inIdp = false;
+        boolean signingKey = false;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.DTD) {
+                throw new XMLStreamException("DOCTYPE is not allowed in SAML metadata");
+            }
+
+            if (event == XMLStreamConstants.END_ELEMENT && METADATA_NS.equals(reader.getNamespaceURI())) {
+                if ("IDPSSODescriptor".equals(reader.getLocalName())) {
+                    return finish(entityId, ssoUrl, certificates, fetchedAtMillis);
+                }
+                if ("KeyDescriptor".equals(reader.getLocalName())) {
+                    signingKey = false;
+                }
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) continue;
+
+            String ns = reader.getNamespaceURI();
+            String name = reader.getLocalName();
+            if (METADATA_NS.equals(ns)) {
+                switch (name) {
+                    case "EntityDescriptor" -> entityId = reader.getAttributeValue(null, "entityID");
+                    case "IDPSSODescriptor" -> inIdp = true;
+                    case "KeyDescriptor" -> {
+                        String use = reader.getAttributeValue(null, "use");
+                        signingKey = inIdp && (use == null || "signing".equals(use));
+                    }
+                    case "SingleSignOnService" -> {
+                        if (inIdp && !ssoUrlIsRedirect) {
+                            String location = reader.getAttributeValue(null, "Location");
+                            boolean redirect = REDIRECT_BINDING.equals(reader.getAttributeValue(null, "Binding"));
+                            if (location != null && (ssoUrl == null || redirect)) {
+                                ssoUrl = location.trim();
+                                ssoUrlIsRedirect = redirect;
+                            }
+                        }
+                    }
+                    default -> { }
+                }
+            } else if (signingKey && DSIG_NS.equals(ns) && "X509Certificate".equals(name)) {
+                String base64 = reader.getElementText();
+                try {
+                    certificates.add(X509Certificates.fromPem(base64));
+                } catch (CertificateException e) {
+                    log.warn("Skipping unusable certificate in SAML metadata for {}: {}", entityId, e.getMessage());
+                }
+            }
+        }
+        throw new SSOAuthenticationException("SAML metadata has no IDPSSODescriptor");
+    }
+
+    private static SamlIdpMetadata finish(String entityId, String ssoUrl, List<X509Certificate> certificates,
+                                          long fetchedAtMillis) {
+        if (certificates.isEmpty()) {
+            throw new SSOAuthenticationException("SAML metadata for " + entityId + " has no signing certificate");
+        }
+        return new SamlIdpMetadata(entityId, ssoUrl, List.copyOf(certificates), fetchedAtMillis);
+    }
+
+    @Override
+    public String cacheName() {
+        return "saml_idp_metadata";
+    }
+
+    @Override
+    public CacheStats cacheStats() {
+        return stats;
+    }
+
+    @Override
+    public int cacheSize() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,93 @@
+package com.yourcompany.multitenant.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * IDs for the AuthnRequests this SP sends, so a Response's {@code InResponseTo} can be
+ * checked without keeping per-login state on the node that started it.
+ *
+ * An ID is {@code _<random>.<issued epoch second>.<mac>}, where the MAC (HMAC-SHA256,
+ * truncated to 128 bits) covers the tenant, the random part and the issue time. A Response
+ * answering a request issued for another tenant, or more than
+ * {@code app.sso.saml.request-ttl-seconds} ago, does not verify.
+ */
+@Component
+public class SamlRequestIds {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAC_BYTES = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    public SamlRequestIds(@Value("${app.sso.saml.request-id-secret:${jwt.secret}}") String secret,
+                          @Value("${app.sso.saml.request-ttl-seconds:600}") long ttlSeconds) {
+        this(secret, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    SamlRequestIds(String secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public String issue(Long tenantId) {
+        byte[] nonce = new byte[12];
+        random.nextBytes(nonce);
+        String body = ENCODER.encodeToString(nonce) + "." + clock.instant().getEpochSecond();
+        return "_" + body + "." + ENCODER.encodeToString(mac(tenantId, body));
+    }
+
+    /**
+     * @return true if {@code id} was issued by {@link #issue} for this tenant and has not expired
+     */
+    public boolean verify(Long tenantId, String id) {
+        if (id == null || !id.startsWith("_")) {
+            return false;
+        }
+        int macStart = id.lastIndexOf('.');
+        int issuedStart = id.lastIndexOf('.', macStart - 1);
+        if (issuedStart < 1) {
+            return false;
+        }
+        String body = id.substring(1, macStart);
+        try {
+            long issued = Long.parseLong(id.substring(issuedStart + 1, macStart));
+            long age = clock.instant().getEpochSecond() - issued;
+            // A minute of slack for the clock of the node that issued it
+            if (age < -60 || age > ttl.toSeconds()) {
+                return false;
+            }
+            byte[] presented = Base64.getUrlDecoder().decode(id.substring(macStart + 1));
+            return MessageDigest.isEqual(presented, mac(tenantId, body));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private byte[] mac(Long tenantId, String body) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update((tenantId + "|" + body).getBytes(StandardCharsets.US_ASCII));
+            return Arrays.copyOf(mac.doFinal(), MAC_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " unavailable", e);
+        }
+    }
+}
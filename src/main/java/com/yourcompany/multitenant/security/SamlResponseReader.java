@@ -0,0 +1,183 @@
+package com.yourcompany.multitenant.security;
+
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Single-pass StAX reader for SAML 2.0 Responses posted to the ACS endpoint.
+ *
+ * Works directly on the Base64-decoded bytes without building a DOM, pulling out the
+ * NameID, attributes, assertion ID, issuer and validity window. A response must carry
+ * exactly one Assertion, as a direct child of the Response: that is the only one
+ * {@link SamlResponseValidator} will check the signature of, so an assertion anywhere else
+ * is rejected rather than read. Malformed timestamps are errors. Parser factories are
+ * hardened against XXE (no DTDs, no external entities) and pooled, so callbacks don't pay
+ * for a service-loader lookup and factory setup on every request.
+ */
+@Component
+public class SamlResponseReader {
+
+    static final String ASSERTION_NS = "urn:oasis:names:tc:SAML:2.0:assertion";
+    static final String PROTOCOL_NS = "urn:oasis:names:tc:SAML:2.0:protocol";
+
+    // The JDK's XMLInputFactory isn't guaranteed thread-safe, so each caller borrows its own
+    private final BlockingQueue<XMLInputFactory> inputFactories =
+            new ArrayBlockingQueue<>(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+    public SamlAssertionData read(byte[] xml) throws XMLStreamException {
+        XMLInputFactory factory = inputFactories.poll();
+        if (factory == null) {
+            factory = newHardenedInputFactory();
+        }
+        try {
+            XMLStreamReader reader = factory.createXMLStreamReader(new ByteArrayInputStream(xml));
+            try {
+                return read(reader);
+            } finally {
+                reader.close();
+            }
+        } finally {
+            inputFactories.offer(factory);
+        }
+    }
+
+    private SamlAssertionData read(XMLStreamReader reader) throws XMLStreamException {
+        String responseId = null;
+        String statusCode = null;
+        String assertionId = null;
+        Instant issueInstant = null;
+        String issuer = null;
+        String nameId = null;
+        Instant notBefore = null;
+        Instant notOnOrAfter = null;
+        List<String> audiences = new ArrayList<>();
+        Map<String, List<String>> attributes = new LinkedHashMap<>();
+
+        int depth = 0;
+        boolean rootIsResponse = false;
+        boolean inAssertion = false;
+        boolean assertionSeen = false;
+        String currentAttribute = null;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+
+            if (event == XMLStreamConstants.DTD) {
+                throw new XMLStreamException("DOCTYPE is not allowed in SAML responses");
+            }
+
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                if (ASSERTION_NS.equals(reader.getNamespaceURI())) {
+                    if ("Assertion".equals(reader.getLocalName()) && inAssertion) {
+                        inAssertion = false;
+                        assertionSeen = true;
+                    } else if ("Attribute".equals(reader.getLocalName())) {
+                        currentAttribute = null;
+                    }
+                }
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            depth++;
+            String ns = reader.getNamespaceURI();
+            String name = reader.getLocalName();
+
+            if (PROTOCOL_NS.equals(ns)) {
+                if ("Response".equals(name) && depth == 1) {
+                    rootIsResponse = true;
+                    responseId = reader.getAttributeValue(null, "ID");
+                } else if ("StatusCode".equals(name) && statusCode == null) {
+                    statusCode = reader.getAttributeValue(null, "Value");
+                }
+                continue;
+            }
+            if (!ASSERTION_NS.equals(ns)) {
+                continue;
+            }
+
+            if ("Assertion".equals(name)) {
+                if (assertionSeen || inAssertion || depth != 2 || !rootIsResponse) {
+                    throw new XMLStreamException("SAML response must contain exactly one Assertion, directly under the Response");
+                }
+                inAssertion = true;
+                assertionId = reader.getAttributeValue(null, "ID");
+                issueInstant = instant(reader.getAttributeValue(null, "IssueInstant"));
+                continue;
+            }
+            if (!inAssertion) {
+                continue;
+            }
+
+            switch (name) {
+                case "Issuer" -> {
+                    if (depth == 3) issuer = reader.getElementText().trim();
+                }
+                case "NameID" -> {
+                    if (nameId == null) nameId = reader.getElementText().trim();
+                }
+                case "Conditions" -> {
+                    notBefore = instant(reader.getAttributeValue(null, "NotBefore"));
+                    notOnOrAfter = instant(reader.getAttributeValue(null, "NotOnOrAfter"));
+                }
+                case "Audience" -> audiences.add(reader.getElementText().trim());
+                case "Attribute" -> {
+                    currentAttribute = reader.getAttributeValue(null, "Name");
+                    if (currentAttribute != null) {
+                        attributes.computeIfAbsent(currentAttribute, k -> new ArrayList<>(1));
+                    }
+                }
+                case "AttributeValue" -> {
+                    if (currentAttribute != null) {
+                        attributes.get(currentAttribute).add(reader.getElementText().trim());
+                    }
+                }
+                default -> {
+                    // not needed by the login flow
+                }
+            }
+            // getElementText() leaves the reader on the element's end tag, which next() then skips
+            if (reader.getEventType() == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+
+        return new SamlAssertionData(responseId, statusCode, assertionId, issueInstant, issuer, nameId,
+                notBefore, notOnOrAfter, audiences, attributes);
+    }
+
+    private static Instant instant(String value) throws XMLStreamException {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Instant.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new XMLStreamException("Malformed SAML timestamp: " + value);
+        }
+    }
+
+    static XMLInputFactory newHardenedInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newDefaultFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,313 @@
+package com.yourcompany.multitenant.security;
+
+import com.yourcompany.multitenant.exception.SSOAuthenticationException;
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.monitoring.CacheStats;
+import com.yourcompany.multitenant.monitoring.MeteredCache;
+import com.yourcompany.multitenant.service.SSOConfigChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import net.shibboleth.utilities.java.support.xml.BasicParserPool;
+import net.shibboleth.utilities.java.support.xml.XMLParserException;
+import org.opensaml.core.xml.XMLObject;
+import org.opensaml.core.xml.config.XMLObjectProviderRegistrySupport;
+import org.opensaml.core.xml.io.Unmarshaller;
+import org.opensaml.core.xml.io.UnmarshallingException;
+import org.opensaml.saml.saml2.core.Assertion;
+import org.opensaml.saml.saml2.core.Audience;
+import org.opensaml.saml.saml2.core.AudienceRestriction;
+import org.opensaml.saml.saml2.core.Conditions;
+import org.opensaml.saml.saml2.core.Response;
+import org.opensaml.saml.saml2.core.SubjectConfirmation;
+import org.opensaml.saml.saml2.core.SubjectConfirmationData;
+import org.opensaml.saml.security.impl.SAMLSignatureProfileValidator;
+import org.opensaml.security.SecurityException;
+import org.opensaml.security.credential.Credential;
+import org.opensaml.security.credential.UsageType;
+import org.opensaml.security.credential.impl.StaticCredentialResolver;
+import org.opensaml.security.criteria.UsageCriterion;
+import org.opensaml.security.x509.BasicX509Credential;
+import org.opensaml.xmlsec.config.impl.DefaultSecurityConfigurationBootstrap;
+import org.opensaml.xmlsec.signature.Signature;
+import org.opensaml.xmlsec.signature.support.SignatureException;
+import org.opensaml.xmlsec.signature.support.SignatureTrustEngine;
+import org.opensaml.xmlsec.signature.support.impl.ExplicitKeySignatureTrustEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+
+import java.io.ByteArrayInputStream;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Validates SAML Responses posted to the ACS endpoint: the XML signature against the
+ * tenant's IdP certificates, then, from the signed assertion, its validity window and
+ * audience and the bearer subject confirmation (recipient, expiry and the AuthnRequest it
+ * answers, see {@link SamlRequestIds}). Unsolicited responses are accepted only with
+ * {@code app.sso.saml.allow-unsolicited}.
+ *
+ * Trusted certificates are the configured {@code samlCertificate} plus the signing
+ * certificates from the IdP's metadata when a metadata URL is set. Each tenant's trust
+ * engine is built once and reused; entries are versioned by the config's {@code updatedAt}
+ * and the metadata fetch time, and evicted when the config is saved or deleted. A config
+ * with no trusted certificate rejects every response.
+ */
+@Slf4j
+@Component
+public class SamlResponseValidator implements MeteredCache {
+
+    private record Entry(LocalDateTime version, long metadataFetchedAt, SignatureTrustEngine trustEngine) {}
+
+    private static final SAMLSignatureProfileValidator PROFILE_VALIDATOR = new SAMLSignatureProfileValidator();
+
+    private final BasicParserPool parserPool;
+    private final SamlIdpMetadataCache idpMetadataCache;
+    private final SamlRequestIds requestIds;
+    private final Duration clockSkew;
+    private final boolean allowUnsolicited;
+    private final Map<Long, Entry> trustEngines = new ConcurrentHashMap<>();
+    private final CacheStats stats = new CacheStats();
+
+    public SamlResponseValidator(BasicParserPool samlParserPool,
+                                 SamlIdpMetadataCache idpMetadataCache,
+                                 SamlRequestIds requestIds,
+                                 @Value("${app.sso.saml.clock-skew-seconds:120}") long clockSkewSeconds,
+                                 @Value("${app.sso.saml.allow-unsolicited:false}") boolean allowUnsolicited) {
+        this.parserPool = samlParserPool;
+        this.idpMetadataCache = idpMetadataCache;
+        this.requestIds = requestIds;
+        this.clockSkew = Duration.ofSeconds(clockSkewSeconds);
+        this.allowUnsolicited = allowUnsolicited;
+    }
+
+    /**
+     * @param xml              the decoded SAMLResponse
+     * @param assertion what {@link SamlResponseReader} extracted from the same bytes
+     * @param sp        this SP's profile for the tenant (entity ID and ACS URL)
+     * @return {@code assertion} with the validity window and audiences of the signed assertion
+     * @throws SSOAuthenticationException if the response must not be trusted
+     */
+    public SamlAssertionData validate(SSOConfig cfg, byte[] xml, SamlAssertionData assertion,
+                                      Long tenantId, SamlSpProfileCache.Profile sp) {
+        SamlIdpMetadata metadata = idpMetadataCache.get(cfg).orElse(null);
+        if (!hasCertificate(cfg) && metadata == null) {
+            throw new SSOAuthenticationException(SamlIdpMetadataCache.sourceOf(cfg) != null
+                    ? "SAML IdP metadata not loaded yet"
+                    : "No SAML signing certificate or IdP metadata configured");
+        }
+        Response response = unmarshal(xml);
+        Assertion signed = verifySignature(cfg, metadata, response, assertion);
+
+        Instant now = Instant.now();
+        Conditions conditions = verifyConditions(signed, sp.entityId(), now);
+        verifySubjectConfirmation(response, signed, tenantId, sp.acsUrl(), now);
+
+        List<String> audiences = conditions.getAudienceRestrictions().stream()
+                .flatMap(restriction -> restriction.getAudiences().stream())
+                .map(Audience::getURI)
+                .toList();
+        return new SamlAssertionData(assertion.responseId(), assertion.statusCode(), assertion.assertionId(),
+                assertion.issueInstant(), assertion.issuer(), assertion.nameId(),
+                conditions.getNotBefore(), conditions.getNotOnOrAfter(), audiences, assertion.attributes());
+    }
+
+    @EventListener
+    public void onConfigChanged(SSOConfigChangedEvent event) {
+        trustEngines.remove(event.configId());
+    }
+
+    private Assertion verifySignature(SSOConfig cfg, SamlIdpMetadata metadata, Response response, SamlAssertionData data) {
+        if (response.getAssertions().size() != 1) {
+            throw new SSOAuthenticationException("SAML response must contain exactly one assertion");
+        }
+        Assertion assertion = response.getAssertions().get(0);
+
+        boolean responseSigned = response.getSignature() != null;
+        boolean assertionSigned = assertion.getSignature() != null;
+        if (!responseSigned && !assertionSigned) {
+            throw new SSOAuthenticationException("SAML response is not signed");
+        }
+
+        SignatureTrustEngine trustEngine = trustEngine(cfg, metadata);
+        if (responseSigned) {
+            verify(trustEngine, response.getSignature());
+        }
+        if (assertionSigned) {
+            verify(trustEngine, assertion.getSignature());
+        }
+
+        // The login flow reads identity from the streaming pass; make sure it saw the signed assertion
+        // and not one smuggled elsewhere in the document.
+        String signedNameId = assertion.getSubject() == null || assertion.getSubject().getNameID() == null
+                ? null
+                : assertion.getSubject().getNameID().getValue();
+        if (!Objects.equals(assertion.getID(), data.assertionId())
+                || signedNameId == null || !signedNameId.trim().equals(data.nameId())) {
+            throw new SSOAuthenticationException("SAML assertion does not match the signed content");
+        }
+        return assertion;
+    }
+
+    private static void verify(SignatureTrustEngine trustEngine, Signature signature) {
+        try {
+            PROFILE_VALIDATOR.validate(signature);
+            CriteriaSet criteria = new CriteriaSet(new UsageCriterion(UsageType.SIGNING));
+            if (!trustEngine.validate(signature, criteria)) {
+                throw new SSOAuthenticationException("SAML signature is not from the configured IdP");
+            }
+        } catch (SignatureException | SecurityException e) {
+            throw new SSOAuthenticationException("SAML signature invalid: " + e.getMessage());
+        }
+    }
+
+    private Conditions verifyConditions(Assertion assertion, String expectedAudience, Instant now) {
+        Conditions conditions = assertion.getConditions();
+        if (conditions == null || conditions.getNotOnOrAfter() == null) {
+            throw new SSOAuthenticationException("SAML assertion has no NotOnOrAfter condition");
+        }
+        if (conditions.getNotBefore() != null && now.plus(clockSkew).isBefore(conditions.getNotBefore())) {
+            throw new SSOAuthenticationException("SAML assertion not yet valid");
+        }
+        if (!now.minus(clockSkew).isBefore(conditions.getNotOnOrAfter())) {
+            throw new SSOAuthenticationException("SAML assertion expired");
+        }
+        // Every AudienceRestriction must be satisfied, and there must be at least one
+        List<AudienceRestriction> restrictions = conditions.getAudienceRestrictions();
+        if (restrictions.isEmpty() || !restrictions.stream().allMatch(restriction -> restriction.getAudiences().stream()
+                .anyMatch(audience -> expectedAudience.equals(trim(audience.getURI()))))) {
+            throw new SSOAuthenticationException("SAML assertion audience does not include " + expectedAudience);
+        }
+        return conditions;
+    }
+
+    // Web Browser SSO profile: a bearer confirmation addressed to our ACS URL, unexpired, answering our request
+    private void verifySubjectConfirmation(Response response, Assertion assertion, Long tenantId, String acsUrl,
+                                           Instant now) {
+        if (response.getDestination() != null && !acsUrl.equals(response.getDestination())) {
+            throw new SSOAuthenticationException("SAML response Destination is not " + acsUrl);
+        }
+        String problem = "SAML assertion has no bearer subject confirmation";
+        List<SubjectConfirmation> confirmations = assertion.getSubject() == null
+                ? List.of()
+                : assertion.getSubject().getSubjectConfirmations();
+        for (SubjectConfirmation confirmation : confirmations) {
+            if (!SubjectConfirmation.METHOD_BEARER.equals(confirmation.getMethod())) {
+                continue;
+            }
+            SubjectConfirmationData data = confirmation.getSubjectConfirmationData();
+            if (data == null || !acsUrl.equals(trim(data.getRecipient()))) {
+                problem = "SAML subject confirmation Recipient is not " + acsUrl;
+            } else if (data.getNotOnOrAfter() == null || !now.minus(clockSkew).isBefore(data.getNotOnOrAfter())) {
+                problem = "SAML subject confirmation has expired or has no NotOnOrAfter";
+            } else if (data.getNotBefore() != null && now.plus(clockSkew).isBefore(data.getNotBefore())) {
+                problem = "SAML subject confirmation not yet valid";
+            } else if (!answersOurRequest(tenantId, response.getInResponseTo(), data.getInResponseTo())) {
+                problem = "SAML response does not answer a login request from this service provider";
+            } else {
+                return;
+            }
+        }
+        throw new SSOAuthenticationException(problem);
+    }
+
+    private boolean answersOurRequest(Long tenantId, String responseInResponseTo, String confirmationInResponseTo) {
+        if (responseInResponseTo == null && confirmationInResponseTo == null) {
+            return allowUnsolicited;
+        }
+        if (responseInResponseTo != null && confirmationInResponseTo != null
+                && !responseInResponseTo.equals(confirmationInResponseTo)) {
+            return false;
+        }
+        return requestIds.verify(tenantId, responseInResponseTo != null ? responseInResponseTo : confirmationInResponseTo);
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private Response unmarshal(byte[] xml) {
+        try {
+            Document document = parserPool.parse(new ByteArrayInputStream(xml));
+            Unmarshaller unmarshaller = XMLObjectProviderRegistrySupport.getUnmarshallerFactory()
+                    .getUnmarshaller(document.getDocumentElement());
+            if (unmarshaller == null) {
+                throw new SSOAuthenticationException("Unsupported SAML message");
+            }
+            XMLObject object = unmarshaller.unmarshall(document.getDocumentElement());
+            if (!(object instanceof Response response)) {
+                throw new SSOAuthenticationException("Expected a SAML Response");
+            }
+            return response;
+        } catch (XMLParserException | UnmarshallingException e) {
+            throw new SSOAuthenticationException("Malformed SAML response: " + e.getMessage());
+        }
+    }
+
+    private SignatureTrustEngine trustEngine(SSOConfig cfg, SamlIdpMetadata metadata) {
+        long metadataFetchedAt = metadata == null ? 0 : metadata.fetchedAtMillis();
+        if (cfg.getId() == null) {
+            return buildTrustEngine(cfg, metadata);
+        }
+        return trustEngines.compute(cfg.getId(), (id, existing) -> {
+            if (existing != null && Objects.equals(existing.version(), cfg.getUpdatedAt())
+                    && existing.metadataFetchedAt() == metadataFetchedAt) {
+                stats.hit();
+                return existing;
+            }
+            stats.miss();
+            return new Entry(cfg.getUpdatedAt(), metadataFetchedAt, buildTrustEngine(cfg, metadata));
+        }).trustEngine();
+    }
+
+    private static SignatureTrustEngine buildTrustEngine(SSOConfig cfg, SamlIdpMetadata metadata) {
+        List<Credential> credentials = new ArrayList<>();
+        if (hasCertificate(cfg)) {
+            try {
+                credentials.add(signingCredential(X509Certificates.fromPem(cfg.getSamlCertificate())));
+            } catch (CertificateException e) {
+                log.warn("SAML certificate for config {} is unusable: {}", cfg.getId(), e.getMessage());
+                throw new SSOAuthenticationException("SAML certificate unusable: " + e.getMessage());
+            }
+        }
+        if (metadata != null) {
+            metadata.signingCertificates().forEach(cert -> credentials.add(signingCredential(cert)));
+        }
+        return new ExplicitKeySignatureTrustEngine(new StaticCredentialResolver(credentials),
+                DefaultSecurityConfigurationBootstrap.buildBasicInlineKeyInfoCredentialResolver());
+    }
+
+    private static Credential signingCredential(X509Certificate certificate) {
+        BasicX509Credential credential = new BasicX509Credential(certificate);
+        credential.setUsageType(UsageType.SIGNING);
+        return credential;
+    }
+
+    private static boolean hasCertificate(SSOConfig cfg) {
+        return cfg.getSamlCertificate() != null && !cfg.getSamlCertificate().isBlank();
+    }
+
+    @Override
+    public String cacheName() {
+        return "saml_trust_engines";
+    }
+
+    @Override
+    public CacheStats cacheStats() {
+        return stats;
+    }
+
+    @Override
+    public int cacheSize() {
+        return trustEngines.size();
+    }
+}
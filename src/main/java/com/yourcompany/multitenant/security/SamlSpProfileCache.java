@@ -0,0 +1,200 @@
+package com.yourcompany.multitenant.security;
+
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.monitoring.CacheStats;
+import com.yourcompany.multitenant.monitoring.MeteredCache;
+import com.yourcompany.multitenant.service.SSOConfigChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+
+/**
+ * Per-tenant SAML service provider profile: the AuthnRequest template and the SP metadata
+ * document, both derived from the tenant's SAML config and the host it is served on.
+ *
+ * Templates are split around the two per-request values (ID and IssueInstant) and kept as
+ * bytes, so starting a login is a couple of array copies plus a deflate with a pooled
+ * {@link Deflater}. Profiles are versioned by the config's {@code updatedAt} and evicted
+ * when the tenant's SSO config changes.
+ */
+@Component
+public class SamlSpProfileCache implements MeteredCache {
+
+    /**
+     * @param metadataEtag strong ETag (quoted) of {@code metadata}
+     */
+    public record Profile(String entityId,
+                          String acsUrl,
+                          byte[] requestHead,
+                          byte[] requestMiddle,
+                          byte[] requestTail,
+                          byte[] metadata,
+                          String metadataEtag) {}
+
+    private record Key(Long tenantId, String baseUrl) {}
+
+    private record Entry(LocalDateTime version, Profile profile) {}
+
+    private static final int DEFLATERS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    // Keys include the request host, so cap the map rather than trust every Host header
+    private static final int MAX_PROFILES = 1024;
+
+    private final SamlRequestIds requestIds;
+    private final Map<Key, Entry> profiles = new ConcurrentHashMap<>();
+    private final CacheStats stats = new CacheStats();
+
+    // Deflater holds native zlib memory; reuse instead of allocating one per login redirect
+    private final BlockingQueue<Deflater> deflaters = new ArrayBlockingQueue<>(DEFLATERS);
+
+    public SamlSpProfileCache(SamlRequestIds requestIds) {
+        this.requestIds = requestIds;
+    }
+
+    /**
+     * @param cfg     the tenant's SAML config, or null when none is configured (metadata only)
+     * @param baseUrl scheme, host and context path the request came in on
+     */
+    public Profile profile(Long tenantId, SSOConfig cfg, String baseUrl) {
+        LocalDateTime version = cfg == null ? null : cfg.getUpdatedAt();
+        if (profiles.size() >= MAX_PROFILES) {
+            profiles.clear();
+        }
+        return profiles.compute(new Key(tenantId, baseUrl), (k, existing) -> {
+            if (existing != null && Objects.equals(existing.version(), version)) {
+                stats.hit();
+                return existing;
+            }
+            stats.miss();
+            return new Entry(version, build(cfg, baseUrl));
+        }).profile();
+    }
+
+    /**
+     * Deflated, Base64- and URL-encoded AuthnRequest for the HTTP-Redirect binding, with an
+     * ID from {@link SamlRequestIds} that the Response's {@code InResponseTo} must carry.
+     */
+    public String encodedAuthnRequest(Long tenantId, Profile profile) {
+        byte[] id = requestIds.issue(tenantId).getBytes(StandardCharsets.US_ASCII);
+        byte[] issueInstant = Instant.now().toString().getBytes(StandardCharsets.US_ASCII);
+
+        byte[] xml = new byte[profile.requestHead().length + id.length + profile.requestMiddle().length
+                + issueInstant.length + profile.requestTail().length];
+        int pos = 0;
+        pos = append(xml, pos, profile.requestHead());
+        pos = append(xml, pos, id);
+        pos = append(xml, pos, profile.requestMiddle());
+        pos = append(xml, pos, issueInstant);
+        append(xml, pos, profile.requestTail());
+
+        String samlRequest = Base64.getEncoder().encodeToString(deflate(xml));
+        return URLEncoder.encode(samlRequest, StandardCharsets.UTF_8);
+    }
+
+    @EventListener
+    public void onConfigChanged(SSOConfigChangedEvent event) {
+        profiles.keySet().removeIf(key -> Objects.equals(key.tenantId(), event.tenantId()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Deflater deflater;
+        while ((deflater = deflaters.poll()) != null) {
+            deflater.end();
+        }
+    }
+
+    private byte[] deflate(byte[] input) {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.DEFLATED, true);
+        }
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2 + 64);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.reset();
+            if (!deflaters.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    private static int append(byte[] target, int pos, byte[] part) {
+        System.arraycopy(part, 0, target, pos, part.length);
+        return pos + part.length;
+    }
+
+    private static Profile build(SSOConfig cfg, String baseUrl) {
+        String acsUrl = cfg == null || cfg.getSamlAcsUrl() == null || cfg.getSamlAcsUrl().isBlank()
+                ? baseUrl + "/sso/saml/callback"
+                : cfg.getSamlAcsUrl();
+        String entityId = cfg == null || cfg.getSamlSpEntityId() == null || cfg.getSamlSpEntityId().isBlank()
+                ? baseUrl + "/sso/saml/metadata"
+                : cfg.getSamlSpEntityId();
+
+        String head = "<samlp:AuthnRequest xmlns:samlp=\"urn:oasis:names:tc:SAML:2.0:protocol\" ID=\"";
+        String middle = "\" Version=\"2.0\" IssueInstant=\"";
+        String tail = "\" ProtocolBinding=\"urn:oasis:names:tc:SAML:2.0:bindings:HTTP-POST\""
+                + " AssertionConsumerServiceURL=\"" + xmlEscape(acsUrl) + "\">"
+                + "<saml:Issuer xmlns:saml=\"urn:oasis:names:tc:SAML:2.0:assertion\">" + xmlEscape(entityId) + "</saml:Issuer>"
+                + "<samlp:NameIDPolicy AllowCreate=\"true\" Format=\"urn:oasis:names:tc:SAML:1.1:nameid-format:emailAddress\"/>"
+                + "</samlp:AuthnRequest>";
+
+        byte[] metadata = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<EntityDescriptor xmlns=\"urn:oasis:names:tc:SAML:2.0:metadata\" entityID=\"" + xmlEscape(entityId) + "\">"
+                + "<SPSSODescriptor WantAssertionsSigned=\"false\" AuthnRequestsSigned=\"false\""
+                + " protocolSupportEnumeration=\"urn:oasis:names:tc:SAML:2.0:protocol\">"
+                + "<AssertionConsumerService Binding=\"urn:oasis:names:tc:SAML:2.0:bindings:HTTP-POST\" Location=\""
+                + xmlEscape(acsUrl) + "\" index=\"1\"/>"
+                + "</SPSSODescriptor>"
+                + "</EntityDescriptor>").getBytes(StandardCharsets.UTF_8);
+
+        return new Profile(entityId, acsUrl,
+                head.getBytes(StandardCharsets.UTF_8),
+                middle.getBytes(StandardCharsets.UTF_8),
+                tail.getBytes(StandardCharsets.UTF_8),
+                metadata,
+                "\"" + DigestUtils.md5DigestAsHex(metadata) + "\"");
+    }
+
+    private static String xmlEscape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    @Override
+    public String cacheName() {
+        return "saml_sp_profiles";
+    }
+
+    @Override
+    public CacheStats cacheStats() {
+        return stats;
+    }
+
+    @Override
+    public int cacheSize() {
+        return profiles.size();
+    }
+}
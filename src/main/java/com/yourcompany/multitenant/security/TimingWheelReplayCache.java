@@ -0,0 +1,135 @@
+package com.yourcompany.multitenant.security;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * In-memory {@link ReplayCache} with expiry driven by a hashed timing wheel.
+ *
+ * Each key is filed under the wheel slot for its expiry tick; as time advances only the
+ * slots for elapsed ticks are swept, so inserts and expiry are O(1) amortized regardless
+ * of how many keys are held. Keys expiring more than one rotation ahead simply survive
+ * extra sweeps of their slot. Memory is bounded by {@code maxEntries}: when full, the keys
+ * in the nearest slots are dropped first.
+ *
+ * Every key is kept for at least {@code minTtl}, so an id whose expiry is missing, already
+ * past or only a tick away cannot be replayed as soon as the next sweep drops it.
+ */
+@Slf4j
+public class TimingWheelReplayCache implements ReplayCache {
+
+    private final Clock clock;
+    private final long tickMillis;
+    private final Duration minTtl;
+    private final Duration maxTtl;
+    private final int maxEntries;
+
+    private final ArrayDeque<String>[] wheel;
+    // key -> expiry tick; the source of truth, slots may hold stale keys until swept
+    private final Map<String, Long> deadlines = new HashMap<>();
+    private long currentTick;
+
+    public TimingWheelReplayCache(Duration tick, int slots, int maxEntries, Duration minTtl, Duration maxTtl) {
+        this(Clock.systemUTC(), tick, slots, maxEntries, minTtl, maxTtl);
+    }
+
+    @SuppressWarnings("unchecked")
+    TimingWheelReplayCache(Clock clock, Duration tick, int slots, int maxEntries, Duration minTtl, Duration maxTtl) {
+        this.clock = clock;
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.minTtl = minTtl;
+        this.maxTtl = maxTtl;
+        this.maxEntries = maxEntries;
+        this.wheel = new ArrayDeque[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.currentTick = clock.millis() / tickMillis;
+    }
+
+    @Override
+    public synchronized boolean markUsed(String key, Instant expiresAt) {
+        long now = clock.millis();
+        advance(now / tickMillis);
+
+        if (deadlines.containsKey(key)) {
+            return false;
+        }
+        if (deadlines.size() >= maxEntries) {
+            evictSoonest();
+        }
+
+        long maxExpiry = now + maxTtl.toMillis();
+        long expiresAtMillis = expiresAt == null
+                ? maxExpiry
+                : Math.min(Math.max(expiresAt.toEpochMilli(), now + minTtl.toMillis()), maxExpiry);
+        long deadlineTick = Math.max(currentTick + 1, Math.floorDiv(expiresAtMillis + tickMillis - 1, tickMillis));
+        deadlines.put(key, deadlineTick);
+        wheel[slot(deadlineTick)].add(key);
+        return true;
+    }
+
+    /**
+     * Drops {@code key}, e.g. when recording it elsewhere failed and a retry must not be
+     * rejected as a replay.
+     */
+    public synchronized void forget(String key) {
+        deadlines.remove(key); // its slot entry is discarded by the next sweep
+    }
+
+    synchronized int size() {
+        return deadlines.size();
+    }
+
+    private void advance(long nowTick) {
+        if (nowTick <= currentTick) {
+            return;
+        }
+        // Sweeping a full rotation visits every slot, so never do more than that
+        long first = Math.max(currentTick + 1, nowTick - wheel.length + 1);
+        for (long tick = first; tick <= nowTick; tick++) {
+            sweep(slot(tick), nowTick);
+        }
+        currentTick = nowTick;
+    }
+
+    private void sweep(int slot, long nowTick) {
+        Iterator<String> it = wheel[slot].iterator();
+        while (it.hasNext()) {
+            String key = it.next();
+            Long deadline = deadlines.get(key);
+            if (deadline == null || slot(deadline) != slot) {
+                it.remove();
+            } else if (deadline <= nowTick) {
+                it.remove();
+                deadlines.remove(key);
+            }
+        }
+    }
+
+    private void evictSoonest() {
+        for (int i = 1; i <= wheel.length; i++) {
+            ArrayDeque<String> bucket = wheel[slot(currentTick + i)];
+            String key;
+            while ((key = bucket.poll()) != null) {
+                Long deadline = deadlines.get(key);
+                if (deadline != null && slot(deadline) == slot(currentTick + i)) {
+                    deadlines.remove(key);
+                    log.debug("Replay cache full ({} entries), evicted {}", maxEntries, key);
+                    return;
+                }
+            }
+        }
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, (long) wheel.length);
+    }
+}
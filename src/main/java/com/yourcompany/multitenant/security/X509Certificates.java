@@ -0,0 +1,35 @@
+package com.yourcompany.multitenant.security;
+
+import java.io.ByteArrayInputStream;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+
+/**
+ * Parses the certificates admins paste into SSO settings: PEM with or without the
+ * BEGIN/END lines, possibly with escaped "\n" sequences from JSON.
+ */
+final class X509Certificates {
+
+    private X509Certificates() {
+    }
+
+    static X509Certificate fromPem(String certificatePEM) throws CertificateException {
+        if (certificatePEM == null || certificatePEM.isBlank()) {
+            throw new CertificateException("certificate not configured");
+        }
+        String pem = certificatePEM.replace("\\n", "\n").trim();
+        String cleaned = pem.replace("-----BEGIN CERTIFICATE-----", "")
+                .replace("-----END CERTIFICATE-----", "")
+                .replaceAll("\\s+", "");
+        byte[] decoded;
+        try {
+            decoded = Base64.getDecoder().decode(cleaned);
+        } catch (IllegalArgumentException e) {
+            throw new CertificateException("certificate is not valid Base64", e);
+        }
+        CertificateFactory cf = CertificateFactory.getInstance("X.509");
+        return (X509Certificate) cf.generateCertificate(new ByteArrayInputStream(decoded));
+    }
+}
@@ -10,14 +10,19 @@ import com.yourcompany.multitenant.exception.UnauthorizedAccessException;
 import com.yourcompany.multitenant.model.Role;
 import com.yourcompany.multitenant.model.Tenant;
 import com.yourcompany.multitenant.model.User;
+import com.yourcompany.multitenant.monitoring.JfrEvents;
+import com.yourcompany.multitenant.monitoring.TenantMetricTags;
 import com.yourcompany.multitenant.repository.UserRepository;
 import com.yourcompany.multitenant.security.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +37,9 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final TenantMetricTags tenantMetricTags;
+    private final MeterRegistry meterRegistry;
+    private final TenantUsageService tenantUsageService;
 
     /**
      * Handles username/password login.
@@ -39,6 +47,33 @@ public class AuthService {
      */
     @Transactional
     public LoginResponse login(LoginRequest request) {
+        JfrEvents.Login event = new JfrEvents.Login();
+        event.begin();
+        String outcome = "error";
+        try {
+            LoginResponse response = authenticate(request);
+            outcome = "success";
+            return response;
+        } catch (BadCredentialsException | UnauthorizedAccessException e) {
+            outcome = "bad_credentials";
+            throw e;
+        } catch (AuthenticationException e) {
+            outcome = "account_rejected"; // disabled, locked, ...
+            throw e;
+        } catch (DomainAccessException e) {
+            outcome = "wrong_domain";
+            throw e;
+        } finally {
+            meterRegistry.counter("auth.login",
+                    "outcome", outcome,
+                    "tenant", tenantMetricTags.tag(TenantContext.getTenantId())).increment();
+            event.tenant = JfrEvents.currentTenant();
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    private LoginResponse authenticate(LoginRequest request) {
         // Authenticate credentials
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
@@ -58,6 +93,7 @@ public class AuthService {
                 user.getRole(),
                 user.getTenant().getId()
         );
+        tenantUsageService.recordLogin(user.getTenant(), user.getId());
 
         // Build response
         return LoginResponse.builder()
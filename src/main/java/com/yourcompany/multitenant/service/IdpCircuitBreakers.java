@@ -0,0 +1,217 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.exception.IdpUnavailableException;
+import com.yourcompany.multitenant.model.SSOConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Circuit breaker plus concurrency bulkhead per (tenant, IdP host), guarding every call
+ * made through {@link IdpHttpClient}.
+ *
+ * A breaker opens when the failure rate over its last {@code window-size} calls reaches the
+ * threshold (errors, timeouts and 5xx count as failures; 4xx don't). While open, calls fail
+ * immediately; after {@code open-duration-ms} a limited number of probe calls are let
+ * through and the first probe result closes or re-opens it. Independently, each key may
+ * have at most {@code max-concurrent-calls} requests in flight, so one hanging IdP can't
+ * absorb the connection pool and callback capacity other tenants need.
+ */
+@Slf4j
+@Component
+public class IdpCircuitBreakers {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    public record Key(Long tenantId, String host) {}
+
+    public record Snapshot(Long tenantId,
+                           String host,
+                           State state,
+                           int inFlight,
+                           int windowCalls,
+                           int windowFailures,
+                           Instant openedAt) {}
+
+    private final Map<Key, Breaker> breakers = new ConcurrentHashMap<>();
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationMillis;
+    private final int halfOpenProbes;
+    private final int maxConcurrentCalls;
+
+    public IdpCircuitBreakers(@Value("${app.sso.idp.breaker.window-size:20}") int windowSize,
+                              @Value("${app.sso.idp.breaker.minimum-calls:10}") int minimumCalls,
+                              @Value("${app.sso.idp.breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                              @Value("${app.sso.idp.breaker.open-duration-ms:30000}") long openDurationMillis,
+                              @Value("${app.sso.idp.breaker.half-open-probes:1}") int halfOpenProbes,
+                              @Value("${app.sso.idp.bulkhead.max-concurrent-calls:10}") int maxConcurrentCalls) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenProbes = halfOpenProbes;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    /**
+     * Reserves a slot for one call to {@code host} on behalf of {@code cfg}'s tenant
+     * ({@code cfg} may be null for calls not tied to a tenant, e.g. metadata refresh).
+     *
+     * @throws IdpUnavailableException if the circuit is open or the bulkhead is full
+     */
+    public Permit acquire(SSOConfig cfg, String host) {
+        Long tenantId = cfg == null || cfg.getTenant() == null ? null : cfg.getTenant().getId();
+        Key key = new Key(tenantId, host);
+        Breaker breaker = breakers.computeIfAbsent(key, k -> new Breaker());
+        return breaker.acquire(key);
+    }
+
+    public List<Snapshot> snapshot() {
+        return breakers.entrySet().stream()
+                .map(e -> e.getValue().snapshot(e.getKey()))
+                .sorted(Comparator.comparing(Snapshot::host).thenComparing(s -> String.valueOf(s.tenantId())))
+                .toList();
+    }
+
+    /**
+     * One in-flight call. Exactly one of {@link #success()}, {@link #failure()} or
+     * {@link #cancel()} takes effect; later calls are ignored.
+     */
+    public static final class Permit {
+        private final Breaker breaker;
+        private final Key key;
+        private final boolean probe;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Permit(Breaker breaker, Key key, boolean probe) {
+            this.breaker = breaker;
+            this.key = key;
+            this.probe = probe;
+        }
+
+        public void success() {
+            if (done.compareAndSet(false, true)) breaker.complete(key, probe, Boolean.TRUE);
+        }
+
+        public void failure() {
+            if (done.compareAndSet(false, true)) breaker.complete(key, probe, Boolean.FALSE);
+        }
+
+        /** The caller gave up; frees the slot without counting an outcome. */
+        public void cancel() {
+            if (done.compareAndSet(false, true)) breaker.complete(key, probe, null);
+        }
+    }
+
+    private final class Breaker {
+        private final Semaphore bulkhead = new Semaphore(maxConcurrentCalls);
+        private final boolean[] window = new boolean[windowSize]; // true = failure
+        private int windowCalls;
+        private int windowFailures;
+        private int next;
+
+        private State state = State.CLOSED;
+        private long openedAtMillis;
+        private int probesInFlight;
+
+        Permit acquire(Key key) {
+            boolean probe;
+            synchronized (this) {
+                if (state == State.OPEN && System.currentTimeMillis() - openedAtMillis >= openDurationMillis) {
+                    state = State.HALF_OPEN;
+                    probesInFlight = 0;
+                    log.info("IdP circuit {} half-open, probing", key);
+                }
+                if (state == State.OPEN) {
+                    throw new IdpUnavailableException("Circuit open for " + key.host());
+                }
+                probe = state == State.HALF_OPEN;
+                if (probe) {
+                    if (probesInFlight >= halfOpenProbes) {
+                        throw new IdpUnavailableException("Circuit half-open for " + key.host() + ", probe in progress");
+                    }
+                    probesInFlight++;
+                }
+            }
+            if (!bulkhead.tryAcquire()) {
+                if (probe) {
+                    synchronized (this) {
+                        probesInFlight--;
+                    }
+                }
+                throw new IdpUnavailableException("Too many concurrent calls to " + key.host());
+            }
+            return new Permit(this, key, probe);
+        }
+
+        void complete(Key key, boolean probe, Boolean success) {
+            bulkhead.release();
+            synchronized (this) {
+                if (probe) {
+                    probesInFlight--;
+                    if (success == null || state != State.HALF_OPEN) {
+                        return;
+                    }
+                    if (success) {
+                        state = State.CLOSED;
+                        resetWindow();
+                        log.info("IdP circuit {} closed", key);
+                    } else {
+                        open(key);
+                    }
+                    return;
+                }
+                if (success == null || state != State.CLOSED) {
+                    return;
+                }
+                record(!success);
+                if (windowCalls >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCalls) {
+                    open(key);
+                }
+            }
+        }
+
+        private void record(boolean failure) {
+            if (windowCalls == window.length) {
+                if (window[next]) windowFailures--;
+            } else {
+                windowCalls++;
+            }
+            window[next] = failure;
+            if (failure) windowFailures++;
+            next = (next + 1) % window.length;
+        }
+
+        private void open(Key key) {
+            state = State.OPEN;
+            openedAtMillis = System.currentTimeMillis();
+            log.warn("IdP circuit {} opened ({} of last {} calls failed)", key, windowFailures, windowCalls);
+        }
+
+        private void resetWindow() {
+            Arrays.fill(window, false);
+            windowCalls = 0;
+            windowFailures = 0;
+            next = 0;
+        }
+
+        synchronized Snapshot snapshot(Key key) {
+            return new Snapshot(key.tenantId(), key.host(), state,
+                    maxConcurrentCalls - bulkhead.availablePermits(),
+                    windowCalls, windowFailures,
+                    state == State.CLOSED ? null : Instant.ofEpochMilli(openedAtMillis));
+        }
+    }
+}
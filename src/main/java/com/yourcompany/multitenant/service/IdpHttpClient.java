@@ -0,0 +1,210 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.config.TenantContext;
+import com.yourcompany.multitenant.exception.IdpUnavailableException;
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.monitoring.TenantObservationFilter;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared outbound HTTP client for every call we make to a tenant's identity provider
+ * (token endpoints, userinfo, metadata).
+ *
+ * Connections are pooled and kept alive per remote host, so repeated logins against the
+ * same IdP reuse an established TLS session instead of handshaking on every callback.
+ * Connect/read timeouts come from the tenant's {@link SSOConfig} and fall back to the
+ * application defaults. Every call passes through {@link IdpCircuitBreakers}; refused calls
+ * fail with {@link IdpUnavailableException} without touching the network.
+ *
+ * Each call is one {@code sso.idp.requests} observation (timer and trace span, tagged with
+ * IdP host, operation and SSO provider); the WebClient exchange span nests under it.
+ */
+@Slf4j
+@Component
+public class IdpHttpClient {
+
+    private final ConnectionProvider connectionProvider;
+    private final WebClient.Builder webClientBuilder;
+    private final ObservationRegistry observationRegistry;
+    private final IdpCircuitBreakers circuitBreakers;
+
+    // One WebClient per distinct connect timeout; all of them share the same pool
+    private final Map<Integer, WebClient> clientsByConnectTimeout = new ConcurrentHashMap<>();
+
+    private final int defaultConnectTimeoutMs;
+    private final int defaultReadTimeoutMs;
+
+    public IdpHttpClient(WebClient.Builder webClientBuilder,
+                         ObservationRegistry observationRegistry,
+                         IdpCircuitBreakers circuitBreakers,
+                         @Value("${app.sso.idp.connect-timeout-ms:2000}") int defaultConnectTimeoutMs,
+                         @Value("${app.sso.idp.read-timeout-ms:5000}") int defaultReadTimeoutMs,
+                         @Value("${app.sso.idp.max-connections-per-host:20}") int maxConnectionsPerHost,
+                         @Value("${app.sso.idp.pending-acquire-max:100}") int pendingAcquireMax,
+                         @Value("${app.sso.idp.max-idle-time-ms:30000}") long maxIdleTimeMs) {
+        this.webClientBuilder = webClientBuilder;
+        this.observationRegistry = observationRegistry;
+        this.circuitBreakers = circuitBreakers;
+        this.defaultConnectTimeoutMs = defaultConnectTimeoutMs;
+        this.defaultReadTimeoutMs = defaultReadTimeoutMs;
+
+        // reactor-netty keeps a separate pool per remote address, so these limits apply per IdP host
+        this.connectionProvider = ConnectionProvider.builder("idp")
+                .maxConnections(maxConnectionsPerHost)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(Duration.ofMillis(defaultConnectTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .evictInBackground(Duration.ofMillis(maxIdleTimeMs))
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * POSTs an application/x-www-form-urlencoded body. The response is returned for any status
+     * code so callers can decide how to treat IdP errors.
+     */
+    public Mono<ResponseEntity<String>> postForm(SSOConfig cfg, String operation, String url,
+                                                 MultiValueMap<String, String> form) {
+        return timed(cfg, operation, url, client(cfg).post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromFormData(form)));
+    }
+
+    /**
+     * GETs a resource with the given headers (e.g. a bearer token for userinfo).
+     */
+    public Mono<ResponseEntity<String>> get(SSOConfig cfg, String operation, String url, HttpHeaders headers) {
+        return timed(cfg, operation, url, client(cfg).get()
+                .uri(url)
+                .headers(h -> h.addAll(headers)));
+    }
+
+    private Mono<ResponseEntity<String>> timed(SSOConfig cfg, String operation, String url,
+                                               WebClient.RequestHeadersSpec<?> spec) {
+        Duration readTimeout = Duration.ofMillis(readTimeoutMs(cfg));
+        String host = hostOf(url);
+
+        return Mono.deferContextual(reactorContext -> {
+            Observation observation = observation(cfg, operation, host,
+                    reactorContext.getOrDefault(ObservationThreadLocalAccessor.KEY, observationRegistry.getCurrentObservation()));
+            IdpCircuitBreakers.Permit permit;
+            try {
+                permit = circuitBreakers.acquire(cfg, host);
+            } catch (IdpUnavailableException e) {
+                stop(observation, "REJECTED");
+                return Mono.error(e);
+            }
+            return spec
+                    .httpRequest(req -> {
+                        HttpClientRequest nativeRequest = req.getNativeRequest();
+                        nativeRequest.responseTimeout(readTimeout);
+                    })
+                    .exchangeToMono(resp -> resp.toEntity(String.class))
+                    .doOnSuccess(resp -> {
+                        if (resp != null && resp.getStatusCode().is5xxServerError()) {
+                            permit.failure();
+                        } else {
+                            permit.success();
+                        }
+                        stop(observation, outcome(resp));
+                    })
+                    .doOnError(e -> {
+                        permit.failure();
+                        observation.error(e);
+                        stop(observation, "ERROR");
+                        log.warn("IdP call {} to {} failed: {}", operation, host, e.toString());
+                    })
+                    .doOnCancel(() -> {
+                        permit.cancel();
+                        stop(observation, "CANCELLED");
+                    })
+                    .contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, observation));
+        });
+    }
+
+    private WebClient client(SSOConfig cfg) {
+        int connectTimeout = connectTimeoutMs(cfg);
+        return clientsByConnectTimeout.computeIfAbsent(connectTimeout, ms -> {
+            HttpClient httpClient = HttpClient.create(connectionProvider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, ms)
+                    .keepAlive(true);
+            return webClientBuilder.clone()
+                    .clientConnector(new ReactorClientHttpConnector(httpClient))
+                    .build();
+        });
+    }
+
+    private Observation observation(SSOConfig cfg, String operation, String host, Observation parent) {
+        Observation observation = Observation.createNotStarted("sso.idp.requests", observationRegistry)
+                .contextualName("idp " + operation)
+                .parentObservation(parent)
+                .lowCardinalityKeyValue("host", host)
+                .lowCardinalityKeyValue("operation", operation)
+                .lowCardinalityKeyValue("provider", cfg == null || cfg.getProvider() == null ? "none" : cfg.getProvider().name());
+        // Completes on a client thread; take the tenant while still on the subscribing one
+        String tenant = TenantContext.getTenantId();
+        if (tenant != null) {
+            observation.highCardinalityKeyValue(TenantObservationFilter.tenantKeyValue(tenant));
+        }
+        return observation.start();
+    }
+
+    private static void stop(Observation observation, String outcome) {
+        observation.lowCardinalityKeyValue("outcome", outcome).stop();
+    }
+
+    private int connectTimeoutMs(SSOConfig cfg) {
+        Integer ms = cfg == null ? null : cfg.getIdpConnectTimeoutMs();
+        return ms == null || ms <= 0 ? defaultConnectTimeoutMs : ms;
+    }
+
+    private int readTimeoutMs(SSOConfig cfg) {
+        Integer ms = cfg == null ? null : cfg.getIdpReadTimeoutMs();
+        return ms == null || ms <= 0 ? defaultReadTimeoutMs : ms;
+    }
+
+    private static String outcome(ResponseEntity<String> resp) {
+        if (resp == null) return "EMPTY";
+        int series = resp.getStatusCode().value() / 100;
+        return series + "xx";
+    }
+
+    static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "unknown" : host.toLowerCase();
+        } catch (IllegalArgumentException e) {
+            return "invalid";
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,128 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.repository.SSOConfigRepository;
+import com.yourcompany.multitenant.security.IdpMetadataStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps every enabled tenant's IdP metadata (OIDC discovery, JWKS, SAML metadata) warm so
+ * no login ever waits on a fetch.
+ *
+ * Each tick walks the enabled SSO configs, collects the distinct remote sources from every
+ * {@link IdpMetadataStore} (tenants sharing an IdP share one fetch) and refreshes those
+ * that are due. Next-due times are jittered so sources added together don't stay in
+ * lockstep, failures are retried sooner than the normal interval, and at most
+ * {@code max-parallel} fetches run at once on the non-blocking IdP client.
+ */
+@Slf4j
+@Service
+public class IdpMetadataPrefetcher {
+
+    private record Source(IdpMetadataStore store, String url) {}
+
+    private final SSOConfigRepository ssoConfigRepository;
+    private final List<IdpMetadataStore> stores;
+    private final long intervalMillis;
+    private final double jitter;
+    private final long retryMillis;
+    private final int maxParallel;
+
+    private final Map<Source, Long> nextDueMillis = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public IdpMetadataPrefetcher(SSOConfigRepository ssoConfigRepository,
+                                 List<IdpMetadataStore> stores,
+                                 @Value("${app.sso.metadata-prefetch.interval-ms:1800000}") long intervalMillis,
+                                 @Value("${app.sso.metadata-prefetch.jitter:0.2}") double jitter,
+                                 @Value("${app.sso.metadata-prefetch.retry-ms:60000}") long retryMillis,
+                                 @Value("${app.sso.metadata-prefetch.max-parallel:4}") int maxParallel) {
+        this.ssoConfigRepository = ssoConfigRepository;
+        this.stores = stores;
+        this.intervalMillis = intervalMillis;
+        this.jitter = jitter;
+        this.retryMillis = retryMillis;
+        this.maxParallel = maxParallel;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        prefetchDue();
+    }
+
+    @Scheduled(fixedDelayString = "${app.sso.metadata-prefetch.tick-ms:30000}",
+               initialDelayString = "${app.sso.metadata-prefetch.tick-ms:30000}")
+    public void prefetchDue() {
+        // A slow round keeps the flag until it finishes; skip ticks instead of stacking rounds
+        if (!running.compareAndSet(false, true)) return;
+
+        List<Source> due;
+        try {
+            due = dueSources(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            running.set(false);
+            log.warn("IdP metadata prefetch could not list SSO configs: {}", e.getMessage());
+            return;
+        }
+        if (due.isEmpty()) {
+            running.set(false);
+            return;
+        }
+
+        log.debug("Prefetching {} IdP metadata source(s)", due.size());
+        Flux.fromIterable(due)
+                .flatMap(this::refresh, maxParallel)
+                .doFinally(signal -> running.set(false))
+                .subscribe();
+    }
+
+    private List<Source> dueSources(long now) {
+        Set<Source> live = new HashSet<>();
+        for (SSOConfig cfg : ssoConfigRepository.findByEnabledTrue()) {
+            for (IdpMetadataStore store : stores) {
+                store.track(cfg).forEach(url -> live.add(new Source(store, url)));
+            }
+        }
+        // Forget sources no enabled config references any more
+        nextDueMillis.keySet().retainAll(live);
+
+        List<Source> due = new ArrayList<>();
+        for (Source source : live) {
+            if (nextDueMillis.getOrDefault(source, 0L) <= now) {
+                due.add(source);
+            }
+        }
+        return due;
+    }
+
+    private Mono<Void> refresh(Source source) {
+        return source.store().refresh(source.url())
+                .doOnSuccess(ignored -> schedule(source, intervalMillis))
+                .onErrorResume(e -> {
+                    log.warn("Prefetching IdP metadata from {} failed: {}", source.url(), e.getMessage());
+                    schedule(source, retryMillis);
+                    return Mono.empty();
+                });
+    }
+
+    private void schedule(Source source, long delayMillis) {
+        double factor = 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        nextDueMillis.put(source, System.currentTimeMillis() + (long) (delayMillis * factor));
+    }
+}
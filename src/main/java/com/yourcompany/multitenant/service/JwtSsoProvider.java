@@ -0,0 +1,152 @@
+package com.yourcompany.multitenant.service;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.yourcompany.multitenant.exception.SSOAuthenticationException;
+import com.yourcompany.multitenant.exception.SsoLoginException;
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.security.JwtSsoVerifierCache;
+import com.yourcompany.multitenant.security.OidcIdTokenVerifier;
+import com.yourcompany.multitenant.security.OidcMetadataCache;
+import com.yourcompany.multitenant.security.ReplayCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * JWT SSO: the IdP redirects back with a signed token, either as {@code id_token} or as the
+ * last path segment of the callback URL. Verified in memory, so it completes synchronously.
+ * Tokens must carry an {@code exp}; expired or not-yet-valid ones are rejected before their
+ * id is recorded for replay protection.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtSsoProvider implements SsoProvider<JWTClaimsSet> {
+
+    private static final String CALLBACK_PATH = "/sso/jwt/callback";
+    private static final long CLOCK_SKEW_MILLIS = 60_000;
+
+    private final OidcMetadataCache metadataCache;
+    private final JwtSsoVerifierCache verifierCache;
+    private final ReplayCache replayCache;
+
+    @Override
+    public SSOProvider type() {
+        return SSOProvider.JWT;
+    }
+
+    @Override
+    public Mono<JWTClaimsSet> verify(SsoCallback callback) {
+        return Mono.fromCallable(() -> verifySync(callback));
+    }
+
+    private JWTClaimsSet verifySync(SsoCallback callback) throws ParseException, JOSEException {
+        String idToken = callback.parameter("id_token");
+        if (idToken == null) {
+            String uri = callback.requestUri();
+            if (uri.contains(CALLBACK_PATH)) {
+                String tail = uri.substring(uri.indexOf(CALLBACK_PATH) + CALLBACK_PATH.length());
+                idToken = tail.startsWith("/") ? tail.substring(1) : tail;
+            }
+        }
+        if (idToken == null || idToken.isBlank()) {
+            throw new SsoLoginException("missing_token");
+        }
+
+        SSOConfig cfg = callback.config();
+        SignedJWT signed = SignedJWT.parse(idToken);
+        String alg = signed.getHeader().getAlgorithm().getName();
+
+        boolean verified;
+        if ("RS256".equalsIgnoreCase(alg) && cfg.getJwtCertificate() != null && !cfg.getJwtCertificate().isBlank()) {
+            verified = verifyRS256WithX509(signed, cfg);
+        } else if (!alg.startsWith("HS") && OidcMetadataCache.sourceOf(cfg) != null) {
+            verified = verifyWithIssuerKeys(signed, cfg);
+        } else {
+            verified = verifyHS256(signed, cfg);
+        }
+        if (!verified) {
+            throw new SsoLoginException("invalid_signature");
+        }
+
+        JWTClaimsSet claims = signed.getJWTClaimsSet();
+
+        long now = System.currentTimeMillis();
+        Date exp = claims.getExpirationTime();
+        if (exp == null || exp.getTime() + CLOCK_SKEW_MILLIS < now) {
+            throw new SsoLoginException("token_expired", exp == null ? "JWT has no exp" : "JWT expired");
+        }
+        Date nbf = claims.getNotBeforeTime();
+        if (nbf != null && nbf.getTime() - CLOCK_SKEW_MILLIS > now) {
+            throw new SsoLoginException("token_expired", "JWT not yet valid");
+        }
+
+        // Tokens without a jti are identified by their signature, which is unique per issuance.
+        // Accepted until exp plus skew, so remembered that long
+        String tokenId = claims.getJWTID() != null ? claims.getJWTID() : signed.getSignature().toString();
+        Instant expiresAt = exp.toInstant().plusMillis(CLOCK_SKEW_MILLIS);
+        if (!replayCache.markUsed("jwt:" + callback.tenant().getId() + ":" + tokenId, expiresAt)) {
+            throw new SsoLoginException("token_replayed", "Replayed JWT SSO token");
+        }
+        return claims;
+    }
+
+    @Override
+    public SsoIdentity mapClaims(SsoCallback callback, JWTClaimsSet claims) {
+        try {
+            String email = claims.getStringClaim("email") != null ? claims.getStringClaim("email") : claims.getSubject();
+            if (email == null || email.isBlank()) {
+                throw new SsoLoginException("invalid_token", "JWT has neither email nor sub");
+            }
+            return new SsoIdentity(email, claims.getStringClaim("first_name"), claims.getStringClaim("last_name"));
+        } catch (ParseException e) {
+            throw new SsoLoginException("invalid_token", e.getMessage());
+        }
+    }
+
+    @Override
+    public String notConfiguredError() {
+        return "jwt_disabled";
+    }
+
+    @Override
+    public String failureError() {
+        return "jwt_failed";
+    }
+
+    private boolean verifyHS256(SignedJWT jwt, SSOConfig cfg) throws JOSEException {
+        if (cfg.getJwtSecret() == null || cfg.getJwtSecret().isBlank()) return false;
+        return jwt.verify(verifierCache.hmacVerifier(cfg));
+    }
+
+    private boolean verifyRS256WithX509(SignedJWT jwt, SSOConfig cfg) {
+        try {
+            return jwt.verify(verifierCache.certificateVerifier(cfg));
+        } catch (Exception e) {
+            log.error("RS256 X509 verification failed", e);
+            return false;
+        }
+    }
+
+    /**
+     * Verifies against the issuer's JWKS from the in-memory metadata cache (looked up by kid).
+     */
+    private boolean verifyWithIssuerKeys(SignedJWT jwt, SSOConfig cfg) {
+        try {
+            JWK key = metadataCache.signingKey(cfg, jwt.getHeader().getKeyID());
+            return jwt.verify(OidcIdTokenVerifier.keyVerifier(key));
+        } catch (SSOAuthenticationException | JOSEException e) {
+            log.warn("JWT verification against issuer keys failed: {}", e.getMessage());
+            return false;
+        }
+    }
+}
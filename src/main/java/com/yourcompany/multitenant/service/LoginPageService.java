@@ -0,0 +1,194 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.model.Tenant;
+import com.yourcompany.multitenant.monitoring.CacheStats;
+import com.yourcompany.multitenant.monitoring.MeteredCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Renders {@code static/login.html} with the tenant's enabled SSO providers already in
+ * the markup, so the browser doesn't need a call to {@code /api/sso/providers} before it
+ * can show the SSO buttons.
+ *
+ * Pages are rendered once per tenant and kept alongside a gzipped copy. The key is the
+ * subdomain from the request so a cached hit needs no database lookup at all. A config
+ * change on this node drops the tenant's page at once; changes made through another node
+ * only publish the event there, so every page is also re-rendered after
+ * {@code app.login-page.ttl-ms}. A render that was already running when the config changed
+ * is served to its own request but not cached.
+ */
+@Slf4j
+@Service
+public class LoginPageService implements MeteredCache {
+
+    /** Placeholder in login.html that the rendered buttons replace. */
+    static final String PROVIDERS_SLOT = "<div class=\"sso-buttons\" id=\"ssoButtons\"></div>";
+
+    /**
+     * @param etag         strong ETag (quoted) of {@code html}; the gzip variant appends {@code -gzip}
+     * @param lastModified render time in epoch millis, truncated to seconds for HTTP dates
+     */
+    public record Page(Long tenantId, byte[] html, byte[] gzipped, String etag, long lastModified) {
+
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+
+    // Keys come from the Host header, but entries are only created for tenants that exist
+    private static final int MAX_PAGES = 1024;
+
+    private final SsoProviderService ssoProviderService;
+    private final String head;
+    private final String tail;
+    private final Page fallback;
+
+    private final long ttlMillis;
+
+    private final Map<String, Page> pages = new ConcurrentHashMap<>();
+    // tenant id -> number of config changes seen; a render is only cached if this didn't move
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final CacheStats stats = new CacheStats();
+
+    public LoginPageService(SsoProviderService ssoProviderService,
+                            @Value("${app.login-page.ttl-ms:30000}") long ttlMillis) {
+        this.ssoProviderService = ssoProviderService;
+        this.ttlMillis = ttlMillis;
+        String template = readTemplate();
+        int slot = template.indexOf(PROVIDERS_SLOT);
+        if (slot < 0) {
+            throw new IllegalStateException("static/login.html has no " + PROVIDERS_SLOT + " placeholder");
+        }
+        this.head = template.substring(0, slot);
+        this.tail = template.substring(slot + PROVIDERS_SLOT.length());
+        // No tenant on this host: the unmodified page, which loads providers client-side as before
+        this.fallback = page(null, template);
+    }
+
+    /**
+     * @param subdomain tenant key from {@link com.yourcompany.multitenant.config.TenantContext}
+     * @param tenant    resolves the tenant on a miss; returns null when the host has no tenant
+     */
+    public Page page(String subdomain, Supplier<Tenant> tenant) {
+        if (subdomain == null) return fallback;
+
+        Page cached = pages.get(subdomain);
+        if (cached != null && System.currentTimeMillis() - cached.lastModified() < ttlMillis) {
+            stats.hit();
+            return cached;
+        }
+        stats.miss();
+
+        Tenant resolved = tenant.get();
+        if (resolved == null) return fallback;
+
+        AtomicLong generation = generation(resolved.getId());
+        long before = generation.get();
+        Page rendered = render(resolved);
+
+        if (pages.size() >= MAX_PAGES) {
+            pages.clear();
+        }
+        // Checked under the map's lock for this key, which onConfigChanged's removal also takes
+        pages.compute(subdomain, (key, current) -> generation.get() == before ? rendered : current);
+        return rendered;
+    }
+
+    @EventListener
+    public void onConfigChanged(SSOConfigChangedEvent event) {
+        generation(event.tenantId()).incrementAndGet();
+        pages.values().removeIf(page -> Objects.equals(page.tenantId(), event.tenantId()));
+    }
+
+    private AtomicLong generation(Long tenantId) {
+        return generations.computeIfAbsent(tenantId, id -> new AtomicLong());
+    }
+
+    private Page render(Tenant tenant) {
+        List<SsoProviderOption> enabled = ssoProviderService.providers(tenant).stream()
+                .filter(SsoProviderOption::enabled)
+                .toList();
+
+        StringBuilder html = new StringBuilder(head.length() + tail.length() + 512).append(head);
+        html.append("<div class=\"sso-buttons\" id=\"ssoButtons\" data-rendered=\"server\">");
+        if (enabled.isEmpty()) {
+            html.append("<p style=\"text-align: center; color: #999; font-size: 14px;\">No SSO providers enabled for this tenant</p>");
+        }
+        for (SsoProviderOption option : enabled) {
+            String name = option.provider().name();
+            html.append("<a class=\"btn btn-sso btn-").append(name.toLowerCase()).append("\" href=\"")
+                    .append(option.loginUrl()).append("\">")
+                    .append("<i class=\"fas ").append(icon(option)).append(" sso-icon\"></i>")
+                    .append("<span>Login with ").append(name).append("</span></a>");
+        }
+        html.append("</div>").append(tail);
+
+        log.debug("Rendered login page for tenant {} with {} SSO provider(s)", tenant.getSubdomain(), enabled.size());
+        return page(tenant.getId(), html.toString());
+    }
+
+    private static String icon(SsoProviderOption option) {
+        return switch (option.provider()) {
+            case JWT -> "fa-key";
+            case SAML -> "fa-lock";
+            case OAUTH -> "fa-globe";
+        };
+    }
+
+    private static Page page(Long tenantId, String html) {
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        return new Page(tenantId, bytes, gzip(bytes),
+                "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"",
+                System.currentTimeMillis() / 1000 * 1000);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 3);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String readTemplate() {
+        try {
+            return new String(new ClassPathResource("static/login.html").getContentAsByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read static/login.html", e);
+        }
+    }
+
+    @Override
+    public String cacheName() {
+        return "login_pages";
+    }
+
+    @Override
+    public CacheStats cacheStats() {
+        return stats;
+    }
+
+    @Override
+    public int cacheSize() {
+        return pages.size();
+    }
+}
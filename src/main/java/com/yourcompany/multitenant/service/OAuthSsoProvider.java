@@ -0,0 +1,166 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.exception.SSOAuthenticationException;
+import com.yourcompany.multitenant.exception.SigningKeyUnavailableException;
+import com.yourcompany.multitenant.exception.SsoLoginException;
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.security.OidcIdTokenVerifier;
+import com.yourcompany.multitenant.security.OidcMetadataCache;
+import com.yourcompany.multitenant.security.OidcProviderMetadata;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * OAuth 2.0 / OIDC authorization-code flow. The code exchange (and userinfo, if still
+ * needed) run on the non-blocking IdP client, so no servlet thread waits on the IdP.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OAuthSsoProvider implements SsoProvider<JSONObject> {
+
+    private final IdpHttpClient idpHttpClient;
+    private final OidcIdTokenVerifier idTokenVerifier;
+    private final OidcMetadataCache metadataCache;
+
+    @Override
+    public SSOProvider type() {
+        return SSOProvider.OAUTH;
+    }
+
+    @Override
+    public Mono<JSONObject> verify(SsoCallback callback) {
+        if (callback.parameter("error") != null) {
+            return Mono.error(new SsoLoginException("oauth_failed", "IdP returned " + callback.parameter("error")));
+        }
+        String code = callback.parameter("code");
+        if (code == null || code.isBlank()) {
+            return Mono.error(new SsoLoginException("missing_code"));
+        }
+
+        SSOConfig cfg = callback.config();
+        // Endpoints left blank in the config come from the cached discovery document
+        OidcProviderMetadata metadata = metadataCache.get(cfg).orElse(null);
+        String tokenUrl = endpoint(cfg.getOauthTokenUrl(), metadata, OidcProviderMetadata::tokenEndpoint);
+        String userInfoUrl = endpoint(cfg.getOauthUserInfoUrl(), metadata, OidcProviderMetadata::userinfoEndpoint);
+        if (tokenUrl == null) {
+            return Mono.error(new SsoLoginException("idp_metadata_unavailable"));
+        }
+
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "authorization_code");
+        form.add("code", code);
+        form.add("redirect_uri", cfg.getOauthRedirectUri());
+        form.add("client_id", cfg.getOauthClientId());
+        form.add("client_secret", cfg.getOauthClientSecret());
+
+        return idpHttpClient.postForm(cfg, "token", tokenUrl, form)
+                .flatMap(tokenResp -> {
+                    if (!tokenResp.getStatusCode().is2xxSuccessful()) {
+                        return Mono.error(new SsoLoginException("oauth_failed",
+                                "Token endpoint returned " + tokenResp.getStatusCode().value()));
+                    }
+
+                    JSONObject tokenJson = new JSONObject(tokenResp.getBody());
+                    String accessToken = tokenJson.optString("access_token", null);
+                    if (accessToken == null) {
+                        return Mono.error(new SsoLoginException("oauth_failed", "Token response has no access_token"));
+                    }
+                    return resolveUserInfo(cfg, userInfoUrl, tokenJson.optString("id_token", null), accessToken);
+                })
+                .onErrorMap(SSOAuthenticationException.class, e -> new SsoLoginException("invalid_id_token", e.getMessage()));
+    }
+
+    @Override
+    public SsoIdentity mapClaims(SsoCallback callback, JSONObject userInfo) {
+        String email = emailOf(userInfo);
+        if (email == null) {
+            throw new SsoLoginException("oauth_no_email", "IdP returned no email claim");
+        }
+
+        String given = userInfo.optString("given_name", "");
+        String family = userInfo.optString("family_name", "");
+        if (given.isBlank() && family.isBlank()) {
+            String name = userInfo.optString("name", "");
+            if (!name.isBlank()) {
+                String[] parts = name.trim().split("\\s+", 2);
+                given = parts[0];
+                if (parts.length > 1) family = parts[1];
+            }
+        }
+        return new SsoIdentity(email, given, family);
+    }
+
+    @Override
+    public String notConfiguredError() {
+        return "oauth_not_configured";
+    }
+
+    @Override
+    public String failureError() {
+        return "oauth_failed";
+    }
+
+    /**
+     * In OIDC mode the identity comes from the verified id_token; the userinfo endpoint is
+     * only called when the token is absent or lacks an email-like claim, or when no cached
+     * signing key can check it yet (the access token is still good for userinfo). A bad
+     * signature or claim fails the login. Completes empty when the userinfo call fails.
+     */
+    private Mono<JSONObject> resolveUserInfo(SSOConfig cfg, String userInfoUrl, String idToken, String accessToken) {
+        if (Boolean.TRUE.equals(cfg.getOauthOidcEnabled()) && idToken != null) {
+            return Mono.fromCallable(() -> idTokenVerifier.verify(cfg, idToken))
+                    .flatMap(claims -> {
+                        JSONObject fromToken = new JSONObject(claims.toJSONObject());
+                        return emailOf(fromToken) != null
+                                ? Mono.just(fromToken)
+                                : fetchUserInfo(cfg, userInfoUrl, accessToken);
+                    })
+                    .onErrorResume(SigningKeyUnavailableException.class, e -> {
+                        if (userInfoUrl == null) return Mono.error(e);
+                        log.info("id_token for config {} not verifiable yet ({}), using userinfo", cfg.getId(), e.getMessage());
+                        return fetchUserInfo(cfg, userInfoUrl, accessToken);
+                    });
+        }
+        return fetchUserInfo(cfg, userInfoUrl, accessToken);
+    }
+
+    private Mono<JSONObject> fetchUserInfo(SSOConfig cfg, String userInfoUrl, String accessToken) {
+        if (userInfoUrl == null) {
+            return Mono.empty();
+        }
+        HttpHeaders uheaders = new HttpHeaders();
+        uheaders.setBearerAuth(accessToken);
+        return idpHttpClient.get(cfg, "userinfo", userInfoUrl, uheaders)
+                .filter(userResp -> userResp.getStatusCode().is2xxSuccessful())
+                .map(userResp -> new JSONObject(userResp.getBody()));
+    }
+
+    private static String endpoint(String configured, OidcProviderMetadata metadata,
+                                   Function<OidcProviderMetadata, String> discovered) {
+        if (configured != null && !configured.isBlank()) return configured;
+        return metadata == null ? null : discovered.apply(metadata);
+    }
+
+    private static String emailOf(JSONObject userInfo) {
+        return firstNonBlank(
+                userInfo.optString("email", null),
+                userInfo.optString("upn", null),
+                userInfo.optString("preferred_username", null)
+        );
+    }
+
+    private static String firstNonBlank(String... arr) {
+        for (String s : arr) if (s != null && !s.isBlank()) return s;
+        return null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.model.SSOProvider;
+
+/**
+ * Published whenever a tenant's SSO configuration is created, updated or deleted,
+ * so in-memory SSO caches can drop or rebuild what they derived from it.
+ *
+ * @param config the saved config, or {@code null} when it was deleted
+ */
+public record SSOConfigChangedEvent(Long configId, Long tenantId, SSOProvider provider, SSOConfig config) {
+
+    public boolean deleted() {
+        return config == null;
+    }
+}
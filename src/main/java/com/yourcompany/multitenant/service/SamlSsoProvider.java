@@ -0,0 +1,99 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.exception.SSOAuthenticationException;
+import com.yourcompany.multitenant.exception.SsoLoginException;
+import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.security.ReplayCache;
+import com.yourcompany.multitenant.security.SamlAssertionData;
+import com.yourcompany.multitenant.security.SamlResponseReader;
+import com.yourcompany.multitenant.security.SamlResponseValidator;
+import com.yourcompany.multitenant.security.SamlSpProfileCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import javax.xml.stream.XMLStreamException;
+import java.util.Base64;
+
+/**
+ * SAML 2.0 HTTP-POST binding: the IdP posts a Base64 {@code SAMLResponse} to the ACS URL.
+ * Parsing and signature checks are local, so it completes synchronously.
+ */
+@Component
+@RequiredArgsConstructor
+public class SamlSsoProvider implements SsoProvider<SamlAssertionData> {
+
+    private final SamlResponseReader samlResponseReader;
+    private final SamlResponseValidator samlResponseValidator;
+    private final SamlSpProfileCache samlSpProfileCache;
+    private final ReplayCache replayCache;
+
+    @Override
+    public SSOProvider type() {
+        return SSOProvider.SAML;
+    }
+
+    @Override
+    public Mono<SamlAssertionData> verify(SsoCallback callback) {
+        return Mono.fromCallable(() -> {
+            String samlResponse = callback.parameter("SAMLResponse");
+            if (samlResponse == null || samlResponse.isBlank()) {
+                throw new SsoLoginException("no_saml_response");
+            }
+
+            byte[] decoded;
+            SamlAssertionData assertion;
+            try {
+                decoded = Base64.getMimeDecoder().decode(samlResponse);
+                assertion = samlResponseReader.read(decoded);
+            } catch (IllegalArgumentException | XMLStreamException e) {
+                throw new SsoLoginException("invalid_saml_response", "Malformed SAML response: " + e.getMessage());
+            }
+
+            if (assertion.statusCode() != null && !SamlAssertionData.STATUS_SUCCESS.equals(assertion.statusCode())) {
+                throw new SsoLoginException("saml_auth_failed", "IdP returned status " + assertion.statusCode());
+            }
+
+            SamlSpProfileCache.Profile sp = samlSpProfileCache
+                    .profile(callback.tenant().getId(), callback.config(), callback.baseUrl());
+            try {
+                assertion = samlResponseValidator.validate(callback.config(), decoded, assertion,
+                        callback.tenant().getId(), sp);
+            } catch (SSOAuthenticationException e) {
+                throw new SsoLoginException("invalid_saml_response", e.getMessage());
+            }
+
+            String replayId = assertion.assertionId() != null ? assertion.assertionId() : assertion.responseId();
+            if (replayId == null) {
+                throw new SsoLoginException("invalid_saml_response", "SAML response has no ID");
+            }
+            if (!replayCache.markUsed("saml:" + callback.tenant().getId() + ":" + replayId, assertion.notOnOrAfter())) {
+                throw new SsoLoginException("assertion_replayed", "Replayed SAML assertion");
+            }
+            return assertion;
+        });
+    }
+
+    @Override
+    public SsoIdentity mapClaims(SsoCallback callback, SamlAssertionData assertion) {
+        String email = assertion.nameId();
+        if (email == null || email.isBlank()) {
+            throw new SsoLoginException("invalid_saml_response", "SAML assertion has no NameID");
+        }
+        String firstName = assertion.firstAttribute("givenName", "firstName", "urn:oid:2.5.4.42",
+                "http://schemas.xmlsoap.org/ws/2005/05/identity/claims/givenname");
+        String lastName = assertion.firstAttribute("sn", "surname", "lastName", "urn:oid:2.5.4.4",
+                "http://schemas.xmlsoap.org/ws/2005/05/identity/claims/surname");
+        return new SsoIdentity(email, firstName, lastName);
+    }
+
+    @Override
+    public String notConfiguredError() {
+        return "saml_not_configured";
+    }
+
+    @Override
+    public String failureError() {
+        return "saml_auth_failed";
+    }
+}
@@ -0,0 +1,24 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.model.Tenant;
+
+import java.util.Map;
+
+/**
+ * Everything a {@link SsoProvider} needs from an IdP callback, captured on the request
+ * thread so providers can finish on other threads without touching the servlet request.
+ *
+ * @param baseUrl    scheme, host and context path the callback came in on
+ * @param parameters first value of each request parameter
+ */
+public record SsoCallback(Tenant tenant,
+                          SSOConfig config,
+                          String baseUrl,
+                          String requestUri,
+                          Map<String, String> parameters) {
+
+    public String parameter(String name) {
+        return parameters.get(name);
+    }
+}
@@ -0,0 +1,7 @@
+package com.yourcompany.multitenant.service;
+
+/**
+ * The user an IdP vouched for, as mapped from its claims. Names may be null.
+ */
+public record SsoIdentity(String email, String firstName, String lastName) {
+}
@@ -0,0 +1,261 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.config.TenantContext;
+import com.yourcompany.multitenant.exception.IdpUnavailableException;
+import com.yourcompany.multitenant.exception.SsoLoginException;
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.model.Tenant;
+import com.yourcompany.multitenant.model.User;
+import com.yourcompany.multitenant.monitoring.JfrEvents;
+import com.yourcompany.multitenant.monitoring.TenantMetricTags;
+import com.yourcompany.multitenant.repository.SSOConfigRepository;
+import com.yourcompany.multitenant.security.JwtTokenProvider;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The one code path every SSO callback goes through:
+ * resolve config → verify → map claims → provision → issue token → redirect.
+ *
+ * Each stage is observed as {@code sso.login.stage} (tags: provider, tenant, stage, outcome)
+ * and the whole callback as {@code sso.login}, so latency can be broken down per tenant
+ * and per provider, and a trace shows each stage (with the IdP calls and queries under it)
+ * as a span. Providers that complete verification on an IdP client thread are
+ * moved to the bounded SSO scheduler before provisioning, which touches JPA.
+ */
+@Slf4j
+@Service
+public class SsoLoginPipeline {
+
+    private final Map<SSOProvider, SsoProvider<?>> providers = new EnumMap<>(SSOProvider.class);
+    private final TenantService tenantService;
+    private final SSOConfigRepository ssoConfigRepository;
+    private final SsoUserProvisioningService provisioningService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObservationRegistry observationRegistry;
+    private final TenantMetricTags tenantMetricTags;
+    private final Scheduler ssoScheduler;
+    private final TenantUsageService tenantUsageService;
+
+    public SsoLoginPipeline(List<SsoProvider<?>> providers,
+                            TenantService tenantService,
+                            SSOConfigRepository ssoConfigRepository,
+                            SsoUserProvisioningService provisioningService,
+                            JwtTokenProvider jwtTokenProvider,
+                            ObservationRegistry observationRegistry,
+                            TenantMetricTags tenantMetricTags,
+                            Scheduler ssoScheduler,
+                            TenantUsageService tenantUsageService) {
+        providers.forEach(p -> this.providers.put(p.type(), p));
+        this.tenantService = tenantService;
+        this.ssoConfigRepository = ssoConfigRepository;
+        this.provisioningService = provisioningService;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.observationRegistry = observationRegistry;
+        this.tenantMetricTags = tenantMetricTags;
+        this.ssoScheduler = ssoScheduler;
+        this.tenantUsageService = tenantUsageService;
+    }
+
+    /**
+     * Handles an IdP callback and returns the view name to redirect to: the login page
+     * with either {@code token=...} or {@code error=...}.
+     */
+    public CompletableFuture<String> complete(SSOProvider type, HttpServletRequest request) {
+        SsoProvider<?> provider = providers.get(type);
+        if (provider == null) {
+            throw new IllegalStateException("No SsoProvider registered for " + type);
+        }
+        return run(provider, request);
+    }
+
+    private <T> CompletableFuture<String> run(SsoProvider<T> provider, HttpServletRequest request) {
+        String providerTag = provider.type().name();
+        Observation login = Observation.createNotStarted("sso.login", observationRegistry)
+                .contextualName("sso " + providerTag.toLowerCase() + " callback")
+                .lowCardinalityKeyValue("provider", providerTag)
+                .start();
+        JfrEvents.SsoCallback event = new JfrEvents.SsoCallback();
+        event.begin();
+        String tenant = JfrEvents.currentTenant();
+
+        CompletableFuture<String> view;
+        // Synchronous work below, and the subscription, happen under the login span
+        try (Observation.Scope scope = login.openScope()) {
+            view = run(provider, request, login);
+        }
+        return view.whenComplete((redirect, error) -> {
+            event.tenant = tenant;
+            event.provider = providerTag;
+            event.outcome = error != null ? "error" : outcomeOf(redirect);
+            event.commit();
+        });
+    }
+
+    private <T> CompletableFuture<String> run(SsoProvider<T> provider, HttpServletRequest request, Observation login) {
+        String providerTag = provider.type().name();
+
+        final SsoCallback callback;
+        try {
+            callback = stage(providerTag, "unknown", "resolve_config", () -> resolve(provider, request));
+        } catch (SsoLoginException e) {
+            return CompletableFuture.completedFuture(fail(login, "unknown", e.getErrorCode()));
+        } catch (Exception e) {
+            log.error("{} SSO callback error", providerTag, e);
+            login.error(e);
+            return CompletableFuture.completedFuture(fail(login, "unknown", provider.failureError()));
+        }
+        String tenantTag = tenantMetricTags.tag(callback.tenant());
+        // The tail may run on an IdP client or callback pool thread; carry the request's context there
+        TenantContext.Snapshot context = TenantContext.capture();
+
+        return observedMono(providerTag, tenantTag, "verify", Mono.defer(() -> provider.verify(callback)))
+                .flatMap(verified -> {
+                    Mono<String> finish = Mono.fromCallable(() -> context.call(() ->
+                            login.scoped(() -> finish(provider, callback, verified, tenantTag))));
+                    // Still on the servlet thread for synchronous providers; off the IdP client's event loop otherwise
+                    return Schedulers.isInNonBlockingThread() ? finish.subscribeOn(ssoScheduler) : finish;
+                })
+                .switchIfEmpty(Mono.error(() -> new SsoLoginException(provider.failureError(), "IdP returned no identity")))
+                .map(view -> {
+                    stop(login, tenantTag, "success");
+                    return view;
+                })
+                .onErrorResume(IdpUnavailableException.class, e -> {
+                    log.warn("{} SSO login for tenant {} failed fast: {}", providerTag, tenantTag, e.getMessage());
+                    return Mono.just(fail(login, tenantTag, "idp_unavailable"));
+                })
+                .onErrorResume(SsoLoginException.class, e -> {
+                    log.warn("{} SSO login rejected for tenant {}: {}", providerTag, tenantTag, e.getMessage());
+                    return Mono.just(fail(login, tenantTag, e.getErrorCode()));
+                })
+                .onErrorResume(e -> {
+                    log.error("{} SSO callback error for tenant {}", providerTag, tenantTag, e);
+                    login.error(e);
+                    return Mono.just(fail(login, tenantTag, provider.failureError()));
+                })
+                .contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, login))
+                .toFuture();
+    }
+
+    private SsoCallback resolve(SsoProvider<?> provider, HttpServletRequest request) {
+        Tenant tenant = tenantService.getCurrentTenant();
+        SSOConfig cfg = ssoConfigRepository.findByTenantAndProvider(tenant, provider.type()).orElse(null);
+        if (cfg == null || !Boolean.TRUE.equals(cfg.getEnabled())) {
+            throw new SsoLoginException(provider.notConfiguredError());
+        }
+
+        Map<String, String> parameters = new HashMap<>();
+        request.getParameterMap().forEach((name, values) -> {
+            if (values.length > 0) parameters.put(name, values[0]);
+        });
+        String baseUrl = request.getRequestURL().toString().replace(request.getRequestURI(), request.getContextPath());
+        return new SsoCallback(tenant, cfg, baseUrl, request.getRequestURI(), parameters);
+    }
+
+    private <T> String finish(SsoProvider<T> provider, SsoCallback callback, T verified, String tenantTag) {
+        String providerTag = provider.type().name();
+
+        SsoIdentity identity = stage(providerTag, tenantTag, "map_claims", () -> provider.mapClaims(callback, verified));
+        if (identity.email() == null || identity.email().isBlank()) {
+            throw new SsoLoginException(provider.failureError(), "IdP identity has no email");
+        }
+
+        User user = stage(providerTag, tenantTag, "provision", () -> provisioningService.provision(
+                callback.tenant(), identity.email(), identity.firstName(), identity.lastName()));
+
+        String appToken = stage(providerTag, tenantTag, "issue_token", () -> jwtTokenProvider.generateToken(
+                user.getId(), user.getEmail(), user.getRole(), callback.tenant().getId()));
+        tenantUsageService.recordSsoLogin(callback.tenant(), provider.type(), user.getId());
+
+        // No SecurityContext: the app is stateless and the issued token authenticates the next request
+        return "redirect:/login.html?token=" + URLEncoder.encode(appToken, StandardCharsets.UTF_8);
+    }
+
+    private <R> R stage(String provider, String tenant, String stage, Supplier<R> work) {
+        Observation observation = stageObservation(provider, tenant, stage).start();
+        JfrEvents.SsoPhase event = new JfrEvents.SsoPhase();
+        event.tenant = JfrEvents.currentTenant();
+        event.begin();
+        String outcome = "error";
+        try (Observation.Scope scope = observation.openScope()) {
+            R result = work.get();
+            outcome = "success";
+            return result;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
+            commit(event, provider, stage, outcome);
+        }
+    }
+
+    private <R> Mono<R> observedMono(String provider, String tenant, String stage, Mono<R> work) {
+        return Mono.deferContextual(reactorContext -> {
+            Observation observation = stageObservation(provider, tenant, stage)
+                    .parentObservation(reactorContext.getOrDefault(ObservationThreadLocalAccessor.KEY, null))
+                    .start();
+            JfrEvents.SsoPhase event = new JfrEvents.SsoPhase();
+            event.tenant = JfrEvents.currentTenant(); // completes on a client thread
+            event.begin();
+            return work
+                    .doOnError(observation::error)
+                    .doFinally(signal -> {
+                        String outcome = signal == SignalType.ON_ERROR ? "error" : signal == SignalType.CANCEL ? "cancelled" : "success";
+                        observation.lowCardinalityKeyValue("outcome", outcome).stop();
+                        commit(event, provider, stage, outcome);
+                    })
+                    .contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, observation));
+        });
+    }
+
+    private Observation stageObservation(String provider, String tenant, String stage) {
+        return Observation.createNotStarted("sso.login.stage", observationRegistry)
+                .contextualName("sso " + stage)
+                .lowCardinalityKeyValue("provider", provider)
+                .lowCardinalityKeyValue("tenant", tenant)
+                .lowCardinalityKeyValue("stage", stage);
+    }
+
+    private static void commit(JfrEvents.SsoPhase event, String provider, String phase, String outcome) {
+        event.provider = provider;
+        event.phase = phase;
+        event.outcome = outcome;
+        event.commit();
+    }
+
+    private static String outcomeOf(String redirect) {
+        int error = redirect == null ? -1 : redirect.indexOf("error=");
+        return error < 0 ? "success" : redirect.substring(error + "error=".length());
+    }
+
+    private static String fail(Observation login, String tenant, String errorCode) {
+        stop(login, tenant, errorCode);
+        return "redirect:/login.html?error=" + errorCode;
+    }
+
+    private static void stop(Observation login, String tenant, String outcome) {
+        login.lowCardinalityKeyValue("tenant", tenant)
+                .lowCardinalityKeyValue("outcome", outcome)
+                .stop();
+    }
+}
@@ -0,0 +1,33 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.model.SSOProvider;
+import reactor.core.publisher.Mono;
+
+/**
+ * One SSO protocol plugged into {@link SsoLoginPipeline}. The pipeline owns config lookup,
+ * provisioning, token issuance and the redirect; a provider only checks the callback and
+ * turns what the IdP vouched for into an {@link SsoIdentity}.
+ *
+ * Failures are reported as {@link com.yourcompany.multitenant.exception.SsoLoginException}
+ * carrying the error code for the login page.
+ *
+ * @param <T> the verified credential (claims set, assertion, userinfo...)
+ */
+public interface SsoProvider<T> {
+
+    SSOProvider type();
+
+    /**
+     * Verifies the callback against the tenant's config. Providers that call the IdP must do
+     * so without blocking; pure in-memory checks may complete synchronously.
+     */
+    Mono<T> verify(SsoCallback callback);
+
+    SsoIdentity mapClaims(SsoCallback callback, T verified);
+
+    /** Login page error code when SSO is disabled or not set up for the tenant. */
+    String notConfiguredError();
+
+    /** Login page error code for unexpected failures. */
+    String failureError();
+}
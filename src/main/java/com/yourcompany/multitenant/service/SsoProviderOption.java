@@ -0,0 +1,8 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.model.SSOProvider;
+
+/**
+ * One SSO button on the login page: whether the tenant enabled the provider and where it starts.
+ */
+public record SsoProviderOption(SSOProvider provider, boolean enabled, String loginUrl) {}
@@ -0,0 +1,47 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.model.Tenant;
+import com.yourcompany.multitenant.repository.SSOConfigRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class SsoProviderService {
+
+    private final SSOConfigRepository ssoConfigRepository;
+
+    /**
+     * Every provider in declaration order, disabled unless the tenant has an enabled config for it.
+     */
+    @Transactional(readOnly = true)
+    public List<SsoProviderOption> providers(Tenant tenant) {
+        Map<SSOProvider, Boolean> enabledMap = new EnumMap<>(SSOProvider.class);
+        for (SSOProvider provider : SSOProvider.values()) {
+            enabledMap.put(provider, false);
+        }
+        for (SSOConfig config : ssoConfigRepository.findByTenant(tenant)) {
+            enabledMap.put(config.getProvider(), Boolean.TRUE.equals(config.getEnabled()));
+        }
+
+        List<SsoProviderOption> providers = new ArrayList<>();
+        enabledMap.forEach((provider, enabled) -> providers.add(new SsoProviderOption(provider, enabled, loginUrl(provider))));
+        return providers;
+    }
+
+    public static String loginUrl(SSOProvider provider) {
+        return switch (provider) {
+            case SAML -> "/sso/saml/login";
+            case JWT -> "/sso/jwt/login";
+            case OAUTH -> "/sso/oauth/login";
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.model.Role;
+import com.yourcompany.multitenant.model.Tenant;
+import com.yourcompany.multitenant.model.User;
+import com.yourcompany.multitenant.monitoring.JfrEvents;
+import com.yourcompany.multitenant.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Just-in-time provisioning for users arriving through any SSO provider.
+ */
+@Service
+@RequiredArgsConstructor
+public class SsoUserProvisioningService {
+
+    // SSO users never log in with a password
+    private static final String SSO_PASSWORD = "{noop}SSO_USER";
+
+    private final UserRepository userRepository;
+
+    /**
+     * Returns the tenant's user with this email, creating it as an END_USER on first login.
+     * One database round trip either way, and safe under concurrent first logins.
+     */
+    @Transactional
+    public User provision(Tenant tenant, String email, String firstName, String lastName) {
+        JfrEvents.UserProvisioning event = new JfrEvents.UserProvisioning();
+        event.begin();
+        try {
+            User user = userRepository.upsertByEmailAndTenant(
+                    email,
+                    firstName == null || firstName.isBlank() ? "SSO" : firstName,
+                    lastName == null || lastName.isBlank() ? "User" : lastName,
+                    SSO_PASSWORD,
+                    Role.END_USER.name(),
+                    tenant.getId());
+            event.success = true;
+            return user;
+        } finally {
+            event.tenant = JfrEvents.tenantOf(tenant);
+            event.tenantId = tenant.getId() == null ? -1 : tenant.getId();
+            event.commit();
+        }
+    }
+}
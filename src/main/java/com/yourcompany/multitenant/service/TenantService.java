@@ -5,6 +5,10 @@ import com.yourcompany.multitenant.exception.TenantNotFoundException;
 import com.yourcompany.multitenant.model.Tenant;
 import com.yourcompany.multitenant.repository.TenantRepository;
 import com.yourcompany.multitenant.config.TenantFilter;
+import com.yourcompany.multitenant.monitoring.JfrEvents;
+import com.yourcompany.multitenant.monitoring.TenantMetricTags;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,9 +23,29 @@ import java.util.Optional;
 public class TenantService {
 
     private final TenantRepository tenantRepository;
+    private final TenantMetricTags tenantMetricTags;
+    private final MeterRegistry meterRegistry;
 
     @Transactional(readOnly = true)
     public Tenant getCurrentTenant() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        JfrEvents.TenantResolution event = new JfrEvents.TenantResolution();
+        event.begin();
+        String outcome = "not_found";
+        try {
+            Tenant tenant = resolveCurrentTenant();
+            tenantMetricTags.tag(tenant); // admits it as a metric tag value
+            outcome = "found";
+            return tenant;
+        } finally {
+            sample.stop(meterRegistry.timer("tenant.resolve", "outcome", outcome));
+            event.tenant = JfrEvents.currentTenant();
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    private Tenant resolveCurrentTenant() {
         String tenantId = TenantContext.getTenantId();
         if (tenantId == null) {
             throw new TenantNotFoundException("No tenant context found");
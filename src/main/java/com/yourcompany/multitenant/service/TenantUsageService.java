@@ -0,0 +1,236 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.config.TenantFilter;
+import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.model.Tenant;
+import com.yourcompany.multitenant.repository.TenantRepository;
+import com.yourcompany.multitenant.repository.TenantUsageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-tenant usage for billing and capacity planning: requests, password logins, SSO
+ * logins by provider and distinct active users, per hour.
+ *
+ * The request path only bumps {@link LongAdder}s (and adds to a per-hour user set); a
+ * scheduled flush adds what accumulated since the previous flush to the tenant's row in
+ * {@code tenant_usage}, so the database sees one upsert per active tenant per interval.
+ * Counts reach the table up to {@code app.usage.flush-interval-ms} late. Each upsert
+ * commits on its own, and a bucket's flushed marks only advance once its row has
+ * committed: a failed write is retried with the same (grown) delta on the next flush.
+ *
+ * Only tenants that exist are counted: the tenant key of a request comes from the Host
+ * header, and unknown hosts must not grow the counters.
+ */
+@Slf4j
+@Service
+public class TenantUsageService {
+
+    private static final long BUCKET_MILLIS = Duration.ofHours(1).toMillis();
+
+    private record Key(String tenant, long bucket) {
+        Instant start() {
+            return Instant.ofEpochMilli(bucket * BUCKET_MILLIS);
+        }
+
+        Instant end() {
+            return Instant.ofEpochMilli((bucket + 1) * BUCKET_MILLIS);
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder requests = new LongAdder();
+        final LongAdder logins = new LongAdder();
+        final LongAdder[] ssoLogins = new LongAdder[SSOProvider.values().length];
+        final Set<Long> activeUsers = ConcurrentHashMap.newKeySet();
+
+        // What has already been written; only touched by flush(). Adders are never reset,
+        // so increments racing with a flush are picked up by the next one instead of lost
+        long flushedRequests;
+        long flushedLogins;
+        final long[] flushedSsoLogins = new long[SSOProvider.values().length];
+        int flushedActiveUsers;
+
+        Counters() {
+            for (int i = 0; i < ssoLogins.length; i++) {
+                ssoLogins[i] = new LongAdder();
+            }
+        }
+    }
+
+    private final TenantUsageRepository usageRepository;
+    private final TenantRepository tenantRepository;
+    private final Duration retention;
+    private final Map<Key, Counters> counters = new ConcurrentHashMap<>();
+    private final Set<String> knownTenants = ConcurrentHashMap.newKeySet();
+    private Instant lastFlush = Instant.EPOCH;
+
+    public TenantUsageService(TenantUsageRepository usageRepository,
+                              TenantRepository tenantRepository,
+                              @Value("${app.usage.retention-days:400}") int retentionDays) {
+        this.usageRepository = usageRepository;
+        this.tenantRepository = tenantRepository;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * @param tenantKey the request's tenant key as bound by {@link TenantFilter}
+     * @param userId    the user the request was authenticated as, or null
+     */
+    public void recordRequest(String tenantKey, Long userId) {
+        Counters c = countersForKnown(subdomainOf(tenantKey));
+        if (c == null) return;
+        c.requests.increment();
+        if (userId != null) {
+            c.activeUsers.add(userId);
+        }
+    }
+
+    public void recordLogin(Tenant tenant, Long userId) {
+        Counters c = countersFor(tenant);
+        c.logins.increment();
+        c.activeUsers.add(userId);
+    }
+
+    public void recordSsoLogin(Tenant tenant, SSOProvider provider, Long userId) {
+        Counters c = countersFor(tenant);
+        c.ssoLogins[provider.ordinal()].increment();
+        c.activeUsers.add(userId);
+    }
+
+    /**
+     * Usage per tenant and bucket in {@code [from, to)}, busiest tenant first within a bucket.
+     * Defaults to the last 24 hours ({@code hour}) or 30 days ({@code day}).
+     */
+    @Transactional(readOnly = true)
+    public List<TenantUsageRepository.UsageBucket> usage(String tenant, String granularity, Instant from, Instant to) {
+        String unit = "day".equalsIgnoreCase(granularity) ? "day" : "hour";
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(unit.equals("day") ? Duration.ofDays(30) : Duration.ofHours(24));
+        return usageRepository.findUsage(unit, start, end, tenant == null ? null : tenant.toLowerCase(Locale.ROOT));
+    }
+
+    @Scheduled(fixedDelayString = "${app.usage.flush-interval-ms:60000}")
+    public synchronized void flush() {
+        Map<String, Long> tenantIds = new HashMap<>();
+        for (Tenant tenant : tenantRepository.findAll()) {
+            tenantIds.put(subdomainOf(tenant), tenant.getId());
+        }
+        knownTenants.addAll(tenantIds.keySet());
+        knownTenants.retainAll(tenantIds.keySet());
+
+        Instant flushStart = Instant.now();
+        int rows = 0;
+        boolean bucketClosed = false;
+        for (Iterator<Map.Entry<Key, Counters>> it = counters.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Key, Counters> entry = it.next();
+            Key key = entry.getKey();
+            Long tenantId = tenantIds.get(key.tenant());
+            if (tenantId == null) {
+                it.remove(); // tenant deleted
+                continue;
+            }
+            try {
+                if (write(tenantId, key, entry.getValue())) {
+                    rows++;
+                }
+            } catch (RuntimeException e) {
+                // Marks not advanced and the bucket kept, so the next flush writes this delta again
+                log.warn("Could not flush usage of tenant {} for {}: {}", tenantId, key.start(), e.getMessage());
+                continue;
+            }
+            // Closed before the previous flush, which was the last chance for late increments
+            if (!key.end().isAfter(lastFlush)) {
+                it.remove();
+                bucketClosed = true;
+            }
+        }
+        if (bucketClosed) {
+            int purged = usageRepository.deleteOlderThan(flushStart.minus(retention));
+            if (purged > 0) {
+                log.debug("Purged {} tenant usage rows older than {} days", purged, retention.toDays());
+            }
+        }
+        lastFlush = flushStart;
+        log.debug("Flushed usage of {} tenant-hour(s)", rows);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not flush tenant usage on shutdown: {}", e.getMessage());
+        }
+    }
+
+    // accumulate() runs in its own transaction; the marks move only after it has committed
+    private boolean write(Long tenantId, Key key, Counters c) {
+        long requests = c.requests.sum();
+        long logins = c.logins.sum();
+        long[] sso = new long[c.ssoLogins.length];
+        boolean changed = requests != c.flushedRequests || logins != c.flushedLogins;
+        for (int i = 0; i < sso.length; i++) {
+            sso[i] = c.ssoLogins[i].sum();
+            changed |= sso[i] != c.flushedSsoLogins[i];
+        }
+        int activeUsers = c.activeUsers.size();
+        changed |= activeUsers != c.flushedActiveUsers;
+        if (!changed) return false;
+
+        usageRepository.accumulate(tenantId, key.start(),
+                requests - c.flushedRequests,
+                logins - c.flushedLogins,
+                sso[SSOProvider.JWT.ordinal()] - c.flushedSsoLogins[SSOProvider.JWT.ordinal()],
+                sso[SSOProvider.OAUTH.ordinal()] - c.flushedSsoLogins[SSOProvider.OAUTH.ordinal()],
+                sso[SSOProvider.SAML.ordinal()] - c.flushedSsoLogins[SSOProvider.SAML.ordinal()],
+                activeUsers);
+        c.flushedRequests = requests;
+        c.flushedLogins = logins;
+        System.arraycopy(sso, 0, c.flushedSsoLogins, 0, sso.length);
+        c.flushedActiveUsers = activeUsers;
+        return true;
+    }
+
+    private Counters countersForKnown(String subdomain) {
+        if (subdomain == null || !knownTenants.contains(subdomain)) return null;
+        return counters(subdomain);
+    }
+
+    // Logins name a tenant that was just loaded, so it is admitted before the next flush would
+    private Counters countersFor(Tenant tenant) {
+        String subdomain = subdomainOf(tenant);
+        knownTenants.add(subdomain);
+        return counters(subdomain);
+    }
+
+    private Counters counters(String subdomain) {
+        Key key = new Key(subdomain, System.currentTimeMillis() / BUCKET_MILLIS);
+        Counters c = counters.get(key);
+        return c != null ? c : counters.computeIfAbsent(key, k -> new Counters());
+    }
+
+    private static String subdomainOf(String tenantKey) {
+        if (tenantKey == null) return null;
+        return TenantFilter.SUPER_ADMIN_ID.equals(tenantKey) ? "" : tenantKey.toLowerCase(Locale.ROOT);
+    }
+
+    private static String subdomainOf(Tenant tenant) {
+        return tenant.getSubdomain() == null ? "" : tenant.getSubdomain().toLowerCase(Locale.ROOT);
+    }
+}
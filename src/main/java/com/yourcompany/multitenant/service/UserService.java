@@ -28,11 +28,7 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public List<UserDTO> getAllCustomerAdmins() {
-        List<User> customerAdmins = userRepository.findAll().stream()
-                .filter(u -> u.getRole() == Role.CUSTOMER_ADMIN)
-                .collect(Collectors.toList());
-
-        return customerAdmins.stream()
+        return userRepository.findByRole(Role.CUSTOMER_ADMIN).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
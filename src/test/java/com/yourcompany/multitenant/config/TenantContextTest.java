@@ -0,0 +1,158 @@
+package com.yourcompany.multitenant.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tenant isolation when requests share (platform) pool threads or run on virtual threads,
+ * and when they hand work to another executor.
+ */
+class TenantContextTest {
+
+    private static final int REQUESTS = 20_000;
+    private static final int TENANTS = 500;
+
+    private final TenantContextTaskDecorator decorator = new TenantContextTaskDecorator();
+
+    @AfterEach
+    void clear() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void noTenantLeaksAcrossPooledThreads() throws Exception {
+        ExecutorService requests = Executors.newFixedThreadPool(32);
+        ExecutorService workers = Executors.newFixedThreadPool(8);
+        try {
+            assertNoLeaks(requests, workers);
+            assertPoolThreadsAreClean(requests, 32);
+            assertPoolThreadsAreClean(workers, 8);
+        } finally {
+            requests.shutdownNow();
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    void noTenantLeaksOnVirtualThreads() throws Exception {
+        // Pre-21 runtimes report this as skipped; the pooled-thread test covers them
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+        ExecutorService requests = VirtualThreads.newPerTaskExecutor("request-").orElseThrow();
+        ExecutorService workers = VirtualThreads.newPerTaskExecutor("worker-").orElseThrow();
+        try {
+            assertNoLeaks(requests, workers);
+        } finally {
+            requests.shutdownNow();
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    void nestedBindingRestoresOuterTenant() {
+        TenantContext.runWhere("outer", () -> {
+            TenantContext.runWhere("inner", () -> assertThat(TenantContext.getTenantId()).isEqualTo("inner"));
+            assertThat(TenantContext.getTenantId()).isEqualTo("outer");
+        });
+        assertThat(TenantContext.getTenantId()).isNull();
+    }
+
+    @Test
+    void snapshotCarriesSecurityContextAndCleansUp() throws Exception {
+        SecurityContext security = SecurityContextHolder.createEmptyContext();
+        security.setAuthentication(new UsernamePasswordAuthenticationToken("admin@acme.test", null, List.of()));
+        SecurityContextHolder.setContext(security);
+        TenantContext.setTenantId("acme");
+
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> seen = worker.submit(TenantContext.capture().wrap(() ->
+                    TenantContext.getTenantId() + "/" + SecurityContextHolder.getContext().getAuthentication().getName()));
+            assertThat(seen.get()).isEqualTo("acme/admin@acme.test");
+
+            Future<Boolean> clean = worker.submit(() ->
+                    TenantContext.getTenantId() == null && SecurityContextHolder.getContext().getAuthentication() == null);
+            assertThat(clean.get()).isTrue();
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    /**
+     * Each simulated request binds a tenant, blocks briefly (as on a DB or IdP call) so other
+     * requests interleave on the same threads, and hands a task to the worker executor
+     * through the decorator. Every observation must see its own tenant.
+     */
+    private void assertNoLeaks(ExecutorService requests, ExecutorService workers) throws Exception {
+        AtomicInteger mismatches = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            String tenant = "tenant-" + (i % TENANTS);
+            futures.add(requests.submit(() -> TenantContext.runWhere(tenant, () -> {
+                try {
+                    check(tenant, mismatches);
+                    Thread.sleep(0, 50_000);
+                    workers.submit(decorator.decorate(() -> check(tenant, mismatches))).get();
+                    check(tenant, mismatches);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            })));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        assertThat(mismatches).hasValue(0);
+    }
+
+    private static void check(String expected, AtomicInteger mismatches) {
+        if (!expected.equals(TenantContext.getTenantId())) {
+            mismatches.incrementAndGet();
+        }
+    }
+
+    /**
+     * Runs an undecorated task on every thread of a fixed pool and checks none of them
+     * still holds a tenant.
+     */
+    private static void assertPoolThreadsAreClean(ExecutorService pool, int threads) throws Exception {
+        CountDownLatch allThreadsBusy = new CountDownLatch(threads);
+        Set<String> leftovers = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                if (TenantContext.getTenantId() != null) {
+                    leftovers.add(Thread.currentThread().getName() + "=" + TenantContext.getTenantId());
+                }
+                allThreadsBusy.countDown();
+                try {
+                    // Hold the thread so each task lands on a different one
+                    allThreadsBusy.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(leftovers).isEmpty();
+    }
+}
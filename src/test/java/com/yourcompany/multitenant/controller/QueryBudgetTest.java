@@ -0,0 +1,487 @@
+package com.yourcompany.multitenant.controller;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.yourcompany.multitenant.model.Role;
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.model.Tenant;
+import com.yourcompany.multitenant.model.User;
+import com.yourcompany.multitenant.repository.SSOConfigRepository;
+import com.yourcompany.multitenant.repository.TenantRepository;
+import com.yourcompany.multitenant.repository.UserRepository;
+import com.yourcompany.multitenant.security.JwtTokenProvider;
+import com.yourcompany.multitenant.security.SamlRequestIds;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Declared per-endpoint budgets for SQL statements and JDBC round trips, checked against
+ * the real filter chain on an embedded Postgres with production's {@code open-in-view=false}.
+ * Each endpoint is called once to warm caches and then measured, so budgets describe the
+ * steady state. Latency ceilings are only asserted with {@code -Dquery-budget.latency=true}:
+ * wall-clock time on a shared build machine is too noisy for a default gate, and the load
+ * test is where latency is tracked.
+ *
+ * Budgets are exact for today's code; raise one only with a reason. A budget that has to
+ * grow with the number of rows (a lazy association loaded per row) is the regression this
+ * test is here to catch: the fixtures have several tenants and users so that shows up.
+ * Every handler in the controller package must have a budget.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.open-in-view=false",
+        "spring.jpa.show-sql=false",
+        "app.base.domain=localhost",
+        // Keep scheduled jobs from querying while a request is being measured
+        "app.sso.metadata-prefetch.tick-ms=3600000",
+        "app.usage.flush-interval-ms=3600000",
+        "management.tracing.sampling.probability=0",
+        "logging.level.root=WARN"
+})
+@Import(QueryBudgetTest.CountingDataSource.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+    private static final QueryCounter COUNTER = new QueryCounter();
+    private static final SamlTestIdp SAML_IDP = new SamlTestIdp();
+    private static final boolean CHECK_LATENCY = Boolean.getBoolean("query-budget.latency");
+
+    private static final Duration FAST = Duration.ofMillis(500);
+    // Endpoints that hash or verify a BCrypt password
+    private static final Duration BCRYPT = Duration.ofMillis(1500);
+
+    private static final String PASSWORD = "Budget@123";
+    private static final String PLATFORM_HOST = "localhost";
+    private static final String ACME_HOST = "acme.localhost";
+    private static final String INITECH_HOST = "initech.localhost";
+    private static final String JWT_SECRET = "query-budget-test-hs256-secret-0123456789abcdef";
+
+    @TestConfiguration
+    static class CountingDataSource {
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return COUNTER.dataSourceWrapper();
+        }
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private SSOConfigRepository ssoConfigRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    @Autowired
+    private SamlRequestIds samlRequestIds;
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    private final Map<String, User> users = new HashMap<>();
+    private String superAdminToken;
+    private String acmeAdminToken;
+    private String initechAdminToken;
+    private Long acmeId;
+
+    @BeforeAll
+    void seed() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        Tenant platform = tenant("", "Platform");
+        Tenant acme = tenant("acme", "Acme");
+        Tenant globex = tenant("globex", "Globex");
+        Tenant initech = tenant("initech", "Initech");
+        acmeId = acme.getId();
+
+        user(platform, "root@platform.test", Role.SUPER_ADMIN, hash);
+        user(acme, "admin@acme.test", Role.CUSTOMER_ADMIN, hash);
+        user(globex, "admin@globex.test", Role.CUSTOMER_ADMIN, hash);
+        user(initech, "admin@initech.test", Role.CUSTOMER_ADMIN, hash);
+        for (int i = 0; i < 5; i++) {
+            user(acme, "user" + i + "@acme.test", Role.END_USER, hash);
+            user(globex, "user" + i + "@globex.test", Role.END_USER, hash);
+        }
+        for (int i = 0; i < 2; i++) {
+            user(acme, "leaver" + i + "@acme.test", Role.END_USER, hash);
+            user(globex, "leaver" + i + "@globex.test", Role.END_USER, hash);
+        }
+
+        for (Tenant tenant : List.of(acme, initech)) {
+            ssoConfigRepository.saveAll(List.of(
+                    SSOConfig.builder().tenant(tenant).provider(SSOProvider.JWT).enabled(true)
+                            .jwtSecret(JWT_SECRET)
+                            .jwtUrl("https://idp.test/jwt")
+                            .build(),
+                    SSOConfig.builder().tenant(tenant).provider(SSOProvider.OAUTH).enabled(true)
+                            .oauthClientId("budget")
+                            .oauthClientSecret("secret")
+                            .oauthAuthorizationUrl("https://idp.test/oauth/authorize")
+                            .oauthTokenUrl("https://idp.test/oauth/token")
+                            .oauthUserInfoUrl("https://idp.test/oauth/userinfo")
+                            .oauthRedirectUri("https://" + tenant.getSubdomain() + ".localhost/sso/oauth/callback")
+                            .oauthOidcEnabled(false)
+                            .build(),
+                    SSOConfig.builder().tenant(tenant).provider(SSOProvider.SAML).enabled(true)
+                            .samlSsoUrl("https://idp.test/saml/sso")
+                            .samlCertificate(SAML_IDP.certificatePem())
+                            .samlSpEntityId(samlEntityId(tenant.getSubdomain()))
+                            .samlAcsUrl(samlAcsUrl(tenant.getSubdomain()))
+                            .build()));
+        }
+
+        superAdminToken = token("root@platform.test");
+        acmeAdminToken = token("admin@acme.test");
+        initechAdminToken = token("admin@initech.test");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> endpointsStayWithinBudget() {
+        return budgets().stream().map(budget -> DynamicTest.dynamicTest(budget.endpoint(), () -> check(budget)));
+    }
+
+    @Test
+    void everyEndpointHasABudget() {
+        Set<String> budgeted = new TreeSet<>();
+        budgets().forEach(budget -> budgeted.add(budget.endpoint()));
+
+        Set<String> missing = new TreeSet<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+            if (!entry.getValue().getBeanType().getPackageName().equals(getClass().getPackageName())) {
+                continue;
+            }
+            List<String> endpoints = new ArrayList<>();
+            entry.getKey().getMethodsCondition().getMethods().forEach(method ->
+                    entry.getKey().getPatternValues().forEach(pattern -> endpoints.add(method + " " + pattern)));
+            if (endpoints.stream().noneMatch(budgeted::contains)) {
+                missing.add(entry.getValue().getShortLogMessage() + " " + endpoints);
+            }
+        }
+        assertThat(missing).as("handlers without a query budget").isEmpty();
+    }
+
+    private List<Budget> budgets() {
+        return List.of(
+                // AuthController: the user is read once by Spring Security and again by AuthService,
+                // then its tenant is loaded to check the login domain
+                new Budget("POST", "/api/auth/login", 3, 4, BCRYPT, 200,
+                        i -> post(ACME_HOST, "/api/auth/login", null, login("user0@acme.test"))),
+                new Budget("POST", "/api/auth/login-cookie", 3, 4, BCRYPT, 200,
+                        i -> post(ACME_HOST, "/api/auth/login-cookie", null, login("user1@acme.test"))),
+                new Budget("POST", "/api/auth/register", 3, 4, BCRYPT, 201,
+                        i -> post(ACME_HOST, "/api/auth/register", null, newUser("registered" + i + "@acme.test", null))),
+
+                // CustomerAdminController
+                new Budget("GET", "/api/customer-admin/end-users", 2, 3, FAST, 200,
+                        i -> get(ACME_HOST, "/api/customer-admin/end-users", acmeAdminToken)),
+                new Budget("GET", "/api/customer-admin/end-users/{userId}", 2, 3, FAST, 200,
+                        i -> get(ACME_HOST, "/api/customer-admin/end-users/" + id("user2@acme.test"), acmeAdminToken)),
+                new Budget("POST", "/api/customer-admin/end-users", 3, 4, BCRYPT, 200,
+                        i -> post(ACME_HOST, "/api/customer-admin/end-users", acmeAdminToken,
+                                newUser("created" + i + "@acme.test", null))),
+                new Budget("PUT", "/api/customer-admin/end-users/{userId}", 3, 4, FAST, 200,
+                        i -> put(ACME_HOST, "/api/customer-admin/end-users/" + id("user3@acme.test"), acmeAdminToken,
+                                "{\"firstName\":\"Renamed" + i + "\"}")),
+                new Budget("DELETE", "/api/customer-admin/end-users/{userId}", 3, 4, FAST, 204,
+                        i -> delete(ACME_HOST, "/api/customer-admin/end-users/" + id("leaver" + i + "@acme.test"), acmeAdminToken)),
+
+                // SuperAdminController: the admin listing fetches every admin's tenant in the same query
+                new Budget("GET", "/api/super-admin/customer-admins", 1, 2, FAST, 200,
+                        i -> get(PLATFORM_HOST, "/api/super-admin/customer-admins", superAdminToken)),
+                new Budget("POST", "/api/super-admin/customer-admins", 3, 4, BCRYPT, 200,
+                        i -> post(PLATFORM_HOST, "/api/super-admin/customer-admins", superAdminToken,
+                                newUser("second-admin" + i + "@globex.test", "globex"))),
+                // The user's tenant isn't the platform tenant, so reading its subdomain is one more select
+                new Budget("PUT", "/api/super-admin/users/{userId}", 4, 5, FAST, 200,
+                        i -> put(PLATFORM_HOST, "/api/super-admin/users/" + id("user4@globex.test"), superAdminToken,
+                                "{\"lastName\":\"Renamed" + i + "\"}")),
+                new Budget("DELETE", "/api/super-admin/users/{userId}", 3, 4, FAST, 204,
+                        i -> delete(PLATFORM_HOST, "/api/super-admin/users/" + id("leaver" + i + "@globex.test"), superAdminToken)),
+                new Budget("GET", "/api/super-admin/idp-circuits", 0, 0, FAST, 200,
+                        i -> get(PLATFORM_HOST, "/api/super-admin/idp-circuits", superAdminToken)),
+                new Budget("GET", "/api/super-admin/traces", 0, 0, FAST, 200,
+                        i -> get(PLATFORM_HOST, "/api/super-admin/traces", superAdminToken)),
+                new Budget("GET", "/api/super-admin/query-stats", 0, 0, FAST, 200,
+                        i -> get(PLATFORM_HOST, "/api/super-admin/query-stats", superAdminToken)),
+                new Budget("GET", "/api/super-admin/usage", 1, 2, FAST, 200,
+                        i -> get(PLATFORM_HOST, "/api/super-admin/usage?granularity=day", superAdminToken)),
+
+                // SSOConfigController: tenant, config and (on writes) the merge/delete each run in
+                // their own repository transaction
+                new Budget("GET", "/api/sso/config", 2, 4, FAST, 200,
+                        i -> get(ACME_HOST, "/api/sso/config", acmeAdminToken)),
+                new Budget("GET", "/api/sso/config/{provider}", 2, 4, FAST, 200,
+                        i -> get(ACME_HOST, "/api/sso/config/saml", acmeAdminToken)),
+                new Budget("POST", "/api/sso/config", 4, 7, FAST, 200,
+                        i -> post(ACME_HOST, "/api/sso/config", acmeAdminToken,
+                                "{\"provider\":\"JWT\",\"enabled\":true,\"jwtSecret\":\"" + JWT_SECRET
+                                        + "\",\"jwtUrl\":\"https://idp.test/jwt\",\"idpReadTimeoutMs\":" + (3000 + i) + "}")),
+                new Budget("DELETE", "/api/sso/config/{provider}", 4, 7, FAST, 204,
+                        i -> delete(INITECH_HOST, "/api/sso/config/" + (i == 0 ? "jwt" : "oauth"), initechAdminToken)),
+
+                // SSO endpoints: the tenant and its config for the provider. A successful callback
+                // adds the single-statement user upsert; the OAuth failure below stops before it,
+                // and its success path shares the JWT and SAML callbacks' database work.
+                new Budget("GET", "/api/sso/providers", 2, 4, FAST, 200,
+                        i -> get(ACME_HOST, "/api/sso/providers", null)),
+                new Budget("GET", "/sso/jwt/login", 2, 4, FAST, 302,
+                        i -> get(ACME_HOST, "/sso/jwt/login", null)).redirectsTo("idp.test/jwt"),
+                new Budget("GET", "/sso/jwt/callback", 3, 6, FAST, 302,
+                        i -> get(ACME_HOST, "/sso/jwt/callback?id_token=" + ssoToken("user0@acme.test"), null))
+                        .redirectsTo("token="),
+                new Budget("GET", "/sso/oauth/login", 2, 4, FAST, 302,
+                        i -> get(ACME_HOST, "/sso/oauth/login", null)).redirectsTo("idp.test/oauth/authorize"),
+                new Budget("GET", "/sso/oauth/callback", 2, 4, FAST, 302,
+                        i -> get(ACME_HOST, "/sso/oauth/callback?error=access_denied", null)).redirectsTo("error=oauth_failed"),
+                new Budget("GET", "/sso/saml/login", 2, 4, FAST, 302,
+                        i -> get(ACME_HOST, "/sso/saml/login", null)).redirectsTo("SAMLRequest="),
+                // Signed response answering an AuthnRequest ID issued for acme
+                new Budget("POST", "/sso/saml/callback", 3, 6, FAST, 302,
+                        i -> form(ACME_HOST, "/sso/saml/callback", "SAMLResponse=" + URLEncoder.encode(
+                                SAML_IDP.response("user2@acme.test", samlEntityId("acme"), samlAcsUrl("acme"),
+                                        samlRequestIds.issue(acmeId)),
+                                StandardCharsets.UTF_8))).redirectsTo("token="),
+                new Budget("GET", "/sso/saml/metadata", 2, 4, FAST, 200,
+                        i -> get(ACME_HOST, "/sso/saml/metadata", null)),
+
+                // Served from per-tenant caches once warm
+                new Budget("GET", "/login.html", 0, 0, FAST, 200,
+                        i -> get(ACME_HOST, "/login.html", null)),
+
+                // No database access
+                new Budget("GET", "/api/end-user/profile", 0, 0, FAST, 200,
+                        i -> get(ACME_HOST, "/api/end-user/profile", acmeAdminToken)),
+                new Budget("GET", "/api/end-user/dashboard", 0, 0, FAST, 200,
+                        i -> get(ACME_HOST, "/api/end-user/dashboard", acmeAdminToken)),
+                new Budget("GET", "/api/health", 0, 0, FAST, 200,
+                        i -> get(ACME_HOST, "/api/health", null)),
+                new Budget("GET", "/api/ping", 0, 0, FAST, 200,
+                        i -> get(ACME_HOST, "/api/ping", null)));
+    }
+
+    private void check(Budget budget) throws Exception {
+        send(budget, 0);
+
+        COUNTER.reset();
+        long start = System.nanoTime();
+        send(budget, 1);
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+        QueryCounter.Counts counts = COUNTER.counts();
+
+        String detail = "%s ran %d statements (budget %d) in %d round trips (budget %d):%n  %s"
+                .formatted(budget.endpoint(), counts.statements(), budget.statements(),
+                        counts.roundTrips(), budget.roundTrips(), String.join("\n  ", counts.sql()));
+        assertThat(counts.statements()).as(detail).isLessThanOrEqualTo(budget.statements());
+        assertThat(counts.roundTrips()).as(detail).isLessThanOrEqualTo(budget.roundTrips());
+        if (CHECK_LATENCY) {
+            assertThat(took).as(budget.endpoint() + " took " + took.toMillis() + " ms").isLessThanOrEqualTo(budget.latency());
+        }
+    }
+
+    private void send(Budget budget, int call) throws Exception {
+        HttpResponse<String> response = http.send(budget.request().apply(call), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode())
+                .as("%s (call %d): %s %s", budget.endpoint(), call,
+                        response.headers().firstValue("Location").orElse(""), response.body())
+                .isEqualTo(budget.status());
+        if (budget.redirect() != null) {
+            // Success and failure both redirect; make sure the path measured is the intended one
+            assertThat(response.headers().firstValue("Location")).get().asString().contains(budget.redirect());
+        }
+    }
+
+    private Tenant tenant(String subdomain, String name) {
+        return tenantRepository.save(Tenant.builder().subdomain(subdomain).name(name).active(true).build());
+    }
+
+    private void user(Tenant tenant, String email, Role role, String passwordHash) {
+        users.put(email, userRepository.save(User.builder()
+                .email(email)
+                .firstName("Budget")
+                .lastName("Test")
+                .password(passwordHash)
+                .role(role)
+                .active(true)
+                .tenant(tenant)
+                .build()));
+    }
+
+    private Long id(String email) {
+        return users.get(email).getId();
+    }
+
+    private String token(String email) {
+        User user = users.get(email);
+        return tokenProvider.generateToken(user.getId(), user.getEmail(), user.getRole(), user.getTenant().getId());
+    }
+
+    private static String ssoToken(String email) {
+        try {
+            Instant now = Instant.now();
+            SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder()
+                    .subject(email)
+                    .claim("email", email)
+                    .jwtID(UUID.randomUUID().toString())
+                    .issueTime(Date.from(now))
+                    .expirationTime(Date.from(now.plusSeconds(300)))
+                    .build());
+            jwt.sign(new MACSigner(JWT_SECRET.getBytes(StandardCharsets.UTF_8)));
+            return jwt.serialize();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String samlEntityId(String subdomain) {
+        return "urn:budget:" + subdomain;
+    }
+
+    private static String samlAcsUrl(String subdomain) {
+        return "https://" + subdomain + ".localhost/sso/saml/callback";
+    }
+
+    private static String login(String email) {
+        return "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    private static String newUser(String email, String tenantSubdomain) {
+        return "{\"firstName\":\"New\",\"lastName\":\"User\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\""
+                + (tenantSubdomain == null ? "" : ",\"tenantSubdomain\":\"" + tenantSubdomain + "\"") + "}";
+    }
+
+    private HttpRequest get(String host, String path, String token) {
+        return request(host, path, token).GET().build();
+    }
+
+    private HttpRequest delete(String host, String path, String token) {
+        return request(host, path, token).DELETE().build();
+    }
+
+    private HttpRequest post(String host, String path, String token, String json) {
+        return request(host, path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest put(String host, String path, String token, String json) {
+        return request(host, path, token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest form(String host, String path, String body) {
+        return request(host, path, null)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String host, String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .header("X-Forwarded-Host", host);
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param statements upper bound on SQL statements for one warm call
+     * @param roundTrips upper bound on statement executions plus commits/rollbacks
+     * @param latency    upper bound on the measured call, checked only with {@code -Dquery-budget.latency=true}
+     * @param request    builds the request for call 0 (warm-up) or 1 (measured)
+     * @param redirect   expected in the Location header, or null
+     */
+    private record Budget(String method,
+                          String pattern,
+                          int statements,
+                          int roundTrips,
+                          Duration latency,
+                          int status,
+                          IntFunction<HttpRequest> request,
+                          String redirect) {
+
+        Budget(String method, String pattern, int statements, int roundTrips, Duration latency, int status,
+               IntFunction<HttpRequest> request) {
+            this(method, pattern, statements, roundTrips, latency, status, request, null);
+        }
+
+        Budget redirectsTo(String location) {
+            return new Budget(method, pattern, statements, roundTrips, latency, status, request, location);
+        }
+
+        String endpoint() {
+            return method + " " + pattern;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.yourcompany.multitenant.controller;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts what the application sends to the database while a window is open: SQL
+ * statements (each entry of a batch counts) and JDBC round trips (executions plus
+ * commits and rollbacks). Counts are global, so only one request may be in flight and
+ * background jobs that query must be kept quiet by the test's properties.
+ */
+final class QueryCounter implements QueryExecutionListener, MethodExecutionListener {
+
+    record Counts(int statements, int roundTrips, List<String> sql) {
+    }
+
+    private int statements;
+    private int roundTrips;
+    private final List<String> sql = new ArrayList<>();
+
+    /**
+     * Wraps the application's DataSource so every connection reports to this counter.
+     */
+    BeanPostProcessor dataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(QueryCounter.this)
+                        .methodListener(QueryCounter.this)
+                        .build();
+            }
+        };
+    }
+
+    synchronized void reset() {
+        statements = 0;
+        roundTrips = 0;
+        sql.clear();
+    }
+
+    synchronized Counts counts() {
+        return new Counts(statements, roundTrips, List.copyOf(sql));
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public synchronized void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        roundTrips++;
+        statements += execInfo.isBatch() ? Math.max(execInfo.getBatchSize(), queryInfoList.size()) : queryInfoList.size();
+        queryInfoList.forEach(query -> sql.add(query.getQuery()));
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public synchronized void afterMethod(MethodExecutionContext executionContext) {
+        String method = executionContext.getMethod().getName();
+        if (executionContext.getTarget() instanceof Connection
+                && (method.equals("commit") || method.equals("rollback"))) {
+            roundTrips++;
+            sql.add(method);
+        }
+    }
+}
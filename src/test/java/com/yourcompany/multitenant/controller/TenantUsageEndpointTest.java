@@ -0,0 +1,162 @@
+package com.yourcompany.multitenant.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourcompany.multitenant.model.Role;
+import com.yourcompany.multitenant.model.Tenant;
+import com.yourcompany.multitenant.model.TenantUsage;
+import com.yourcompany.multitenant.model.User;
+import com.yourcompany.multitenant.repository.TenantRepository;
+import com.yourcompany.multitenant.repository.TenantUsageRepository;
+import com.yourcompany.multitenant.repository.UserRepository;
+import com.yourcompany.multitenant.security.JwtTokenProvider;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * {@code GET /api/super-admin/usage} against hourly rows seeded straight into
+ * {@code tenant_usage} on an embedded Postgres: the native rollup query, its
+ * {@code date_trunc} bucket and the projection's {@code Instant} mapping.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.base.domain=localhost",
+        // The seeded rows are the only usage; keep the flush from adding this test's own requests
+        "app.usage.flush-interval-ms=3600000",
+        "app.sso.metadata-prefetch.tick-ms=3600000",
+        "management.tracing.sampling.probability=0",
+        "logging.level.root=WARN"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TenantUsageEndpointTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    private static final Instant DAY = Instant.parse("2024-03-04T00:00:00Z");
+    private static final String RANGE = "&from=2024-03-04T00:00:00Z&to=2024-03-06T00:00:00Z";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TenantUsageRepository usageRepository;
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private String superAdminToken;
+
+    @BeforeAll
+    void seed() {
+        Tenant platform = tenant("", "Platform");
+        Tenant acme = tenant("acme", "Acme");
+        Tenant globex = tenant("globex", "Globex");
+
+        User root = userRepository.save(User.builder().email("root@platform.test").firstName("Root").lastName("Admin")
+                .password("unused").role(Role.SUPER_ADMIN).active(true).tenant(platform).build());
+        superAdminToken = tokenProvider.generateToken(root.getId(), root.getEmail(), root.getRole(), platform.getId());
+
+        usageRepository.saveAll(List.of(
+                usage(acme, DAY.plusSeconds(10 * 3600), 100, 3, 1, 0, 2, 7),
+                usage(acme, DAY.plusSeconds(11 * 3600), 50, 1, 0, 1, 0, 9),
+                usage(globex, DAY.plusSeconds(10 * 3600), 400, 8, 0, 0, 0, 4),
+                usage(acme, DAY.plusSeconds(33 * 3600), 20, 0, 0, 0, 1, 2),
+                // Outside the requested range
+                usage(acme, DAY.minusSeconds(3600), 999, 9, 9, 9, 9, 99)));
+    }
+
+    @Test
+    void hourlyBucketsAreTheSeededRows() throws Exception {
+        assertThat(usage("granularity=hour" + RANGE))
+                .extracting(row -> row.get("tenant"), row -> row.get("bucketStart"), row -> row.get("requests"),
+                        row -> row.get("ssoSamlLogins"), row -> row.get("peakActiveUsers"))
+                .containsExactly(
+                        tuple("globex", "2024-03-04T10:00:00Z", 400, 0, 4),
+                        tuple("acme", "2024-03-04T10:00:00Z", 100, 2, 7),
+                        tuple("acme", "2024-03-04T11:00:00Z", 50, 0, 9),
+                        tuple("acme", "2024-03-05T09:00:00Z", 20, 1, 2));
+    }
+
+    @Test
+    void dailyBucketsSumCountsAndKeepThePeakHour() throws Exception {
+        assertThat(usage("granularity=day" + RANGE))
+                .extracting(row -> row.get("tenant"), row -> row.get("bucketStart"), row -> row.get("requests"),
+                        row -> row.get("logins"), row -> row.get("ssoJwtLogins"), row -> row.get("ssoOauthLogins"),
+                        row -> row.get("peakActiveUsers"))
+                .containsExactly(
+                        tuple("globex", "2024-03-04T00:00:00Z", 400, 8, 0, 0, 4),
+                        tuple("acme", "2024-03-04T00:00:00Z", 150, 4, 1, 1, 9),
+                        tuple("acme", "2024-03-05T00:00:00Z", 20, 0, 0, 0, 2));
+    }
+
+    @Test
+    void filtersByTenant() throws Exception {
+        assertThat(usage("granularity=day&tenant=ACME" + RANGE))
+                .extracting(row -> row.get("tenant"))
+                .containsOnly("acme")
+                .hasSize(2);
+    }
+
+    private List<Map<String, Object>> usage(String query) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/super-admin/usage?" + query))
+                .header("X-Forwarded-Host", "localhost")
+                .header("Authorization", "Bearer " + superAdminToken)
+                .GET()
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(response.body()).isEqualTo(200);
+        return objectMapper.readValue(response.body(), new TypeReference<>() {});
+    }
+
+    private Tenant tenant(String subdomain, String name) {
+        return tenantRepository.save(Tenant.builder().subdomain(subdomain).name(name).active(true).build());
+    }
+
+    private static TenantUsage usage(Tenant tenant, Instant hour, long requests, long logins, long jwt, long oauth,
+                                     long saml, int activeUsers) {
+        return TenantUsage.builder().tenantId(tenant.getId()).bucketStart(hour).requests(requests).logins(logins)
+                .ssoJwtLogins(jwt).ssoOauthLogins(oauth).ssoSamlLogins(saml).activeUsers(activeUsers).build();
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
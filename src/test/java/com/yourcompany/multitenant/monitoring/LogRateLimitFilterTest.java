@@ -0,0 +1,72 @@
+package com.yourcompany.multitenant.monitoring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRateLimitFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final LogRateLimitFilter filter = new LogRateLimitFilter();
+
+    LogRateLimitFilterTest() {
+        filter.setContext(context);
+        filter.setSampleOneIn(5);
+        filter.addLimit(limit("com.example", 100));
+        filter.addLimit(limit("com.example.web.TenantFilter", 3));
+        filter.clock = now::get;
+        filter.start();
+    }
+
+    @Test
+    void limitsPerSecondThenSamples() {
+        Logger hot = context.getLogger("com.example.web.TenantFilter");
+
+        assertThat(admitted(hot, Level.WARN, 23)).isEqualTo(3 + 4);
+
+        now.addAndGet(1000);
+        assertThat(admitted(hot, Level.WARN, 3)).isEqualTo(3);
+    }
+
+    @Test
+    void mostSpecificCategoryWinsAndOthersAreUnlimited() {
+        assertThat(admitted(context.getLogger("com.example.web.TenantFilterX"), Level.WARN, 50)).isEqualTo(50);
+        assertThat(admitted(context.getLogger("org.other.Thing"), Level.WARN, 500)).isEqualTo(500);
+    }
+
+    @Test
+    void disabledLevelsAndEnabledChecksDoNotUseTheBudget() {
+        Logger hot = context.getLogger("com.example.web.TenantFilter");
+        hot.setLevel(Level.INFO);
+
+        for (int i = 0; i < 10; i++) {
+            filter.decide(null, hot, Level.DEBUG, "x", null, null);
+            filter.decide(null, hot, Level.WARN, null, null, null);
+        }
+        assertThat(admitted(hot, Level.WARN, 3)).isEqualTo(3);
+    }
+
+    private int admitted(Logger logger, Level level, int events) {
+        int admitted = 0;
+        for (int i = 0; i < events; i++) {
+            if (filter.decide(null, logger, level, "event {}", new Object[]{i}, null) != FilterReply.DENY) {
+                admitted++;
+            }
+        }
+        return admitted;
+    }
+
+    private static LogRateLimitFilter.Limit limit(String logger, int eventsPerSecond) {
+        LogRateLimitFilter.Limit limit = new LogRateLimitFilter.Limit();
+        limit.setLogger(logger);
+        limit.setEventsPerSecond(eventsPerSecond);
+        return limit;
+    }
+}
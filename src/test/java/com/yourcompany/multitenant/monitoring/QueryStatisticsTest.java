@@ -0,0 +1,74 @@
+package com.yourcompany.multitenant.monitoring;
+
+import com.yourcompany.multitenant.config.TenantContext;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryStatisticsTest {
+
+    private final ObservationRegistry registry = ObservationRegistry.create();
+    private final QueryStatistics stats;
+
+    QueryStatisticsTest() {
+        registry.observationConfig().observationHandler(context -> true);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("observationRegistry", registry);
+        stats = new QueryStatistics(beans.getBeanProvider(ObservationRegistry.class),
+                beans.getBeanProvider(EntityManagerFactory.class), 100, 40, 10, 3);
+    }
+
+    @Test
+    void queriesAreAttributedToTenantAndRoutePattern() {
+        ServerRequestObservationContext request = new ServerRequestObservationContext(
+                new MockHttpServletRequest("GET", "/api/customer-admin/users/7"), new MockHttpServletResponse());
+        request.setPathPattern("/api/customer-admin/users/{id}");
+
+        TenantContext.runWhere("acme", () -> Observation.createNotStarted("http.server.requests", () -> request, registry)
+                .observe(() -> {
+                    query(3, "select * from users where id=?");
+                    query(250, "select * from users u join tenants t on t.id = u.tenant_id where u.email = ?");
+                    stats.onLoad(new Object(), 7L, null, null, null);
+                }));
+        query(1, "select 1");
+
+        QueryStatistics.Report report = stats.report(10);
+        assertThat(report.byTenantAndEndpoint()).containsExactly(
+                new QueryStatistics.Row("acme", "GET /api/customer-admin/users/{id}", 2, 253, 250, 1, 1),
+                new QueryStatistics.Row(TenantMetricTags.NONE, TenantMetricTags.NONE, 1, 1, 1, 0, 0));
+        assertThat(report.recentSlowQueries()).singleElement().satisfies(slow -> {
+            assertThat(slow.tenant()).isEqualTo("acme");
+            assertThat(slow.durationMs()).isEqualTo(250);
+            assertThat(slow.sql()).hasSize(43).endsWith("...");
+        });
+        assertThat(report.hibernate()).isNull();
+    }
+
+    @Test
+    void tenantsBeyondTheLimitShareOneRow() {
+        for (String tenant : List.of("t1", "t2", "t3", "t4", "t5")) {
+            TenantContext.runWhere(tenant, () -> query(1, "select 1"));
+        }
+
+        assertThat(stats.report(10).byTenantAndEndpoint())
+                .extracting(QueryStatistics.Row::tenant)
+                .containsExactlyInAnyOrder("t1", "t2", "t3", TenantMetricTags.OTHER);
+    }
+
+    private void query(long elapsedMs, String sql) {
+        ExecutionInfo info = new ExecutionInfo();
+        info.setElapsedTime(elapsedMs);
+        stats.afterQuery(info, List.of(new QueryInfo(sql)));
+    }
+}
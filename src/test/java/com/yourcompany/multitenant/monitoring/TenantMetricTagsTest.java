@@ -0,0 +1,37 @@
+package com.yourcompany.multitenant.monitoring;
+
+import com.yourcompany.multitenant.config.TenantFilter;
+import com.yourcompany.multitenant.model.Tenant;
+import com.yourcompany.multitenant.repository.TenantRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TenantMetricTagsTest {
+
+    private final TenantMetricTags tags = new TenantMetricTags(mock(TenantRepository.class), 2);
+
+    @Test
+    void onlyResolvedTenantsWithinBudgetGetTheirOwnTag() {
+        assertThat(tags.tag(tenant("acme"))).isEqualTo("acme");
+        assertThat(tags.tag(tenant("Globex"))).isEqualTo("globex");
+        assertThat(tags.tag(tenant("initech"))).isEqualTo(TenantMetricTags.OTHER);
+
+        assertThat(tags.tag("acme")).isEqualTo("acme");
+        assertThat(tags.tag("initech")).isEqualTo(TenantMetricTags.OTHER);
+        // Arbitrary Host headers never become tag values
+        assertThat(tags.tag("x1f9c2")).isEqualTo(TenantMetricTags.OTHER);
+    }
+
+    @Test
+    void baseDomainAndMissingTenantHaveFixedTags() {
+        assertThat(tags.tag(TenantFilter.SUPER_ADMIN_ID)).isEqualTo(TenantMetricTags.ROOT);
+        assertThat(tags.tag(tenant(""))).isEqualTo(TenantMetricTags.ROOT);
+        assertThat(tags.tag((String) null)).isEqualTo(TenantMetricTags.NONE);
+    }
+
+    private static Tenant tenant(String subdomain) {
+        return Tenant.builder().subdomain(subdomain).name(subdomain).build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.yourcompany.multitenant.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.yourcompany.multitenant.exception.SigningKeyUnavailableException;
+import com.yourcompany.multitenant.model.SSOConfig;
+import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.service.IdpHttpClient;
+import com.yourcompany.multitenant.service.SSOConfigChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs {@link OidcMetadataCache} against a stub issuer whose discovery document and JWKS
+ * are served from the test classpath ({@code stub-issuer/}). Sources must be https, so the
+ * stub answers in place of the IdP HTTP client rather than on a local port.
+ */
+class OidcMetadataCacheTest {
+
+    private final String issuer = "https://issuer.test";
+    private final IdpHttpClient idpHttpClient = mock(IdpHttpClient.class);
+    private final OidcMetadataCache cache = new OidcMetadataCache(idpHttpClient, 3_600_000, 0);
+    private final AtomicInteger discoveryHits = new AtomicInteger();
+
+    OidcMetadataCacheTest() {
+        when(idpHttpClient.get(isNull(), anyString(), anyString(), any())).thenAnswer(invocation -> {
+            String url = invocation.getArgument(2);
+            if (url.equals(issuer + "/.well-known/openid-configuration")) {
+                discoveryHits.incrementAndGet();
+                return Mono.just(ResponseEntity.ok(resource("stub-issuer/openid-configuration.json")));
+            }
+            if (url.equals(issuer + "/jwks")) {
+                return Mono.just(ResponseEntity.ok(resource("stub-issuer/jwks.json")));
+            }
+            return Mono.just(ResponseEntity.notFound().<String>build());
+        });
+    }
+
+    @Test
+    void loadsDiscoveryAndKeysInBackground() throws InterruptedException {
+        SSOConfig cfg = oauthConfig();
+
+        OidcProviderMetadata metadata = awaitMetadata(cfg);
+
+        assertThat(metadata.issuer()).isEqualTo(issuer);
+        assertThat(metadata.tokenEndpoint()).isEqualTo(issuer + "/token");
+        assertThat(metadata.userinfoEndpoint()).isEqualTo(issuer + "/userinfo");
+        assertThat(metadata.jwksUri()).isEqualTo(issuer + "/jwks");
+    }
+
+    @Test
+    void looksUpSigningKeyByKid() throws InterruptedException {
+        SSOConfig cfg = oauthConfig();
+        awaitMetadata(cfg);
+
+        JWK key = cache.signingKey(cfg, "stub-key-1");
+
+        assertThat(key).isInstanceOf(RSAKey.class);
+        assertThatThrownBy(() -> cache.signingKey(cfg, "rotated-away"))
+                .isInstanceOf(SigningKeyUnavailableException.class);
+    }
+
+    @Test
+    void cachedLookupsDoNotRefetch() throws InterruptedException {
+        SSOConfig cfg = oauthConfig();
+        awaitMetadata(cfg);
+        int hits = discoveryHits.get();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(cache.get(cfg)).isPresent();
+        }
+
+        assertThat(discoveryHits.get()).isEqualTo(hits);
+    }
+
+    @Test
+    void ignoresPlainHttpSources() {
+        SSOConfig cfg = oauthConfig();
+        cfg.setOauthIssuerUri("http://issuer.test/");
+
+        assertThat(OidcMetadataCache.sourceOf(cfg)).isNull();
+        assertThat(cache.get(cfg)).isEmpty();
+
+        cfg.setOauthJwksUrl("http://issuer.test/jwks");
+        assertThat(OidcMetadataCache.sourceOf(cfg)).isNull();
+    }
+
+    @Test
+    void dropsSourceWhenItsConfigIsDeleted() throws InterruptedException {
+        SSOConfig cfg = oauthConfig();
+        awaitMetadata(cfg);
+        assertThat(cache.cacheSize()).isEqualTo(1);
+
+        cache.onConfigChanged(new SSOConfigChangedEvent(cfg.getId(), 7L, SSOProvider.OAUTH, null));
+
+        assertThat(cache.cacheSize()).isZero();
+    }
+
+    private SSOConfig oauthConfig() {
+        return SSOConfig.builder()
+                .id(1L)
+                .provider(SSOProvider.OAUTH)
+                .enabled(true)
+                .oauthIssuerUri(issuer + "/")
+                .oauthClientId("client")
+                .build();
+    }
+
+    private OidcProviderMetadata awaitMetadata(SSOConfig cfg) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<OidcProviderMetadata> metadata = cache.get(cfg);
+            if (metadata.isPresent()) {
+                return metadata.get();
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Stub issuer metadata was not loaded");
+    }
+
+    private String resource(String path) {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(path)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("${issuer}", issuer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
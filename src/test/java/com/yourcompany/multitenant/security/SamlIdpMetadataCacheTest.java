@@ -0,0 +1,61 @@
+package com.yourcompany.multitenant.security;
+
+import com.yourcompany.multitenant.exception.SSOAuthenticationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Parses the stub IdP metadata in {@code stub-idp/saml-metadata.xml}.
+ */
+class SamlIdpMetadataCacheTest {
+
+    @Test
+    void readsRedirectSsoUrlAndSigningCertificates() throws IOException {
+        SamlIdpMetadata metadata = SamlIdpMetadataCache.parse(resource("stub-idp/saml-metadata.xml"), 42);
+
+        assertThat(metadata.entityId()).isEqualTo("https://stub-idp.example.com/saml");
+        assertThat(metadata.ssoUrl()).isEqualTo("https://stub-idp.example.com/saml/sso/redirect");
+        // The encryption-only KeyDescriptor is ignored
+        assertThat(metadata.signingCertificates()).hasSize(1);
+        assertThat(metadata.signingCertificates().get(0).getSubjectX500Principal().getName())
+                .isEqualTo("CN=stub-idp.example.com");
+        assertThat(metadata.fetchedAtMillis()).isEqualTo(42);
+    }
+
+    @Test
+    void rejectsDoctype() {
+        byte[] xml = """
+                <?xml version="1.0"?>
+                <!DOCTYPE md:EntityDescriptor [<!ENTITY x SYSTEM "file:///etc/passwd">]>
+                <md:EntityDescriptor xmlns:md="urn:oasis:names:tc:SAML:2.0:metadata" entityID="&x;"/>
+                """.getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> SamlIdpMetadataCache.parse(xml, 0))
+                .isInstanceOf(SSOAuthenticationException.class);
+    }
+
+    @Test
+    void rejectsMetadataWithoutIdpRole() {
+        byte[] xml = """
+                <md:EntityDescriptor xmlns:md="urn:oasis:names:tc:SAML:2.0:metadata" entityID="https://sp.example.com">
+                  <md:SPSSODescriptor protocolSupportEnumeration="urn:oasis:names:tc:SAML:2.0:protocol"/>
+                </md:EntityDescriptor>
+                """.getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> SamlIdpMetadataCache.parse(xml, 0))
+                .isInstanceOf(SSOAuthenticationException.class)
+                .hasMessageContaining("IDPSSODescriptor");
+    }
+
+    private byte[] resource(String path) throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(path)) {
+            return in.readAllBytes();
+        }
+    }
+}
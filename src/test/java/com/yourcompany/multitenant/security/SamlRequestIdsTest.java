@@ -0,0 +1,41 @@
+package com.yourcompany.multitenant.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamlRequestIdsTest {
+
+    private final Clock issuedAt = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private final SamlRequestIds ids = new SamlRequestIds("request-id-secret", Duration.ofMinutes(10), issuedAt);
+
+    @Test
+    void verifiesOnlyForTheTenantItWasIssuedTo() {
+        String id = ids.issue(7L);
+
+        assertThat(id).startsWith("_").matches("[A-Za-z0-9_.-]+");
+        assertThat(ids.verify(7L, id)).isTrue();
+        assertThat(ids.verify(8L, id)).isFalse();
+        assertThat(new SamlRequestIds("other-secret", Duration.ofMinutes(10), issuedAt).verify(7L, id)).isFalse();
+    }
+
+    @Test
+    void rejectsExpiredAndTamperedIds() {
+        String id = ids.issue(7L);
+
+        SamlRequestIds later = new SamlRequestIds("request-id-secret", Duration.ofMinutes(10),
+                Clock.offset(issuedAt, Duration.ofMinutes(11)));
+        assertThat(later.verify(7L, id)).isFalse();
+
+        String reissued = id.replaceFirst("\\.1704067200\\.", ".1704067140.");
+        assertThat(reissued).isNotEqualTo(id);
+        assertThat(ids.verify(7L, reissued)).isFalse();
+        assertThat(ids.verify(7L, "_abc")).isFalse();
+        assertThat(ids.verify(7L, null)).isFalse();
+    }
+}
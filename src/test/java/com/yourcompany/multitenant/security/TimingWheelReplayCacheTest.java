@@ -0,0 +1,104 @@
+package com.yourcompany.multitenant.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelReplayCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private final TimingWheelReplayCache cache =
+            new TimingWheelReplayCache(clock, Duration.ofSeconds(1), 8, 1000, Duration.ZERO, Duration.ofHours(1));
+
+    @Test
+    void rejectsReplayUntilExpiry() {
+        Instant expiresAt = clock.instant().plusSeconds(5);
+
+        assertThat(cache.markUsed("saml:1:_a", expiresAt)).isTrue();
+        assertThat(cache.markUsed("saml:1:_a", expiresAt)).isFalse();
+        assertThat(cache.markUsed("saml:2:_a", expiresAt)).isTrue();
+
+        clock.advance(Duration.ofSeconds(6));
+        assertThat(cache.markUsed("saml:1:_a", expiresAt.plusSeconds(60))).isTrue();
+    }
+
+    @Test
+    void keepsKeysThatOutliveOneRotation() {
+        // 8 slots of 1s: a 20s expiry is filed in a slot that is swept twice before it is due
+        assertThat(cache.markUsed("jwt:1:long", clock.instant().plusSeconds(20))).isTrue();
+
+        for (int i = 0; i < 19; i++) {
+            clock.advance(Duration.ofSeconds(1));
+            assertThat(cache.markUsed("jwt:1:long", clock.instant().plusSeconds(20))).isFalse();
+        }
+
+        clock.advance(Duration.ofSeconds(2));
+        assertThat(cache.markUsed("jwt:1:long", clock.instant().plusSeconds(20))).isTrue();
+    }
+
+    @Test
+    void expiresEverythingAfterLongIdlePeriod() {
+        for (int i = 0; i < 100; i++) {
+            cache.markUsed("k" + i, clock.instant().plusSeconds(i % 30 + 1));
+        }
+        clock.advance(Duration.ofMinutes(10));
+
+        assertThat(cache.markUsed("fresh", clock.instant().plusSeconds(1))).isTrue();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void staysWithinMaxEntries() {
+        TimingWheelReplayCache small = new TimingWheelReplayCache(clock, Duration.ofSeconds(1), 8, 10, Duration.ZERO, Duration.ofHours(1));
+        for (int i = 0; i < 50; i++) {
+            assertThat(small.markUsed("k" + i, clock.instant().plusSeconds(i + 1))).isTrue();
+        }
+        assertThat(small.size()).isEqualTo(10);
+    }
+
+    @Test
+    void keepsAlreadyExpiredKeysForTheMinimumTtl() {
+        TimingWheelReplayCache withMinTtl = new TimingWheelReplayCache(clock, Duration.ofSeconds(1), 8, 1000,
+                Duration.ofSeconds(30), Duration.ofHours(1));
+        Instant expired = clock.instant().minusSeconds(10);
+
+        assertThat(withMinTtl.markUsed("jwt:1:old", expired)).isTrue();
+        clock.advance(Duration.ofSeconds(29));
+        assertThat(withMinTtl.markUsed("jwt:1:old", expired)).isFalse();
+        clock.advance(Duration.ofSeconds(2));
+        assertThat(withMinTtl.markUsed("jwt:1:old", expired)).isTrue();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
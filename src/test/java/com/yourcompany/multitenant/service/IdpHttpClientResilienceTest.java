@@ -0,0 +1,137 @@
+package com.yourcompany.multitenant.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.yourcompany.multitenant.exception.IdpUnavailableException;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives {@link IdpHttpClient} against a local stub IdP whose status code and latency can
+ * be changed per test, to check the circuit breaker and bulkhead end to end.
+ */
+class IdpHttpClientResilienceTest {
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile long delayMillis;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private IdpHttpClient client;
+    private IdpCircuitBreakers breakers;
+    private String tokenUrl;
+
+    private void start(int windowSize, long openDurationMillis, int maxConcurrentCalls) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/token", exchange -> {
+            hits.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"access_token\":\"stub\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            } catch (IOException ignored) {
+                // client timed out and closed the connection
+            }
+        });
+        server.start();
+        tokenUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/token";
+
+        breakers = new IdpCircuitBreakers(windowSize, windowSize, 50, openDurationMillis, 1, maxConcurrentCalls);
+        client = new IdpHttpClient(WebClient.builder(), ObservationRegistry.NOOP, breakers, 1000, 300, 20, 100, 30000);
+    }
+
+    @AfterEach
+    void stop() {
+        client.shutdown();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void serverErrorsOpenTheCircuitAndLaterCallsFailFast() throws IOException {
+        start(4, 60_000, 10);
+        status = 500;
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(call().getStatusCode().value()).isEqualTo(500);
+        }
+
+        assertThatThrownBy(this::call).isInstanceOf(IdpUnavailableException.class);
+        assertThat(hits.get()).isEqualTo(4);
+        assertThat(breakers.snapshot()).singleElement()
+                .satisfies(s -> assertThat(s.state()).isEqualTo(IdpCircuitBreakers.State.OPEN));
+    }
+
+    @Test
+    void timeoutsCountAsFailures() throws IOException {
+        start(4, 60_000, 10);
+        delayMillis = 600;
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(this::call).isNotInstanceOf(IdpUnavailableException.class);
+        }
+
+        assertThatThrownBy(this::call).isInstanceOf(IdpUnavailableException.class);
+    }
+
+    @Test
+    void successfulHalfOpenProbeClosesTheCircuit() throws Exception {
+        start(4, 200, 10);
+        status = 503;
+        for (int i = 0; i < 4; i++) {
+            call();
+        }
+        assertThatThrownBy(this::call).isInstanceOf(IdpUnavailableException.class);
+
+        status = 200;
+        Thread.sleep(250);
+
+        assertThat(call().getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(breakers.snapshot()).singleElement()
+                .satisfies(s -> assertThat(s.state()).isEqualTo(IdpCircuitBreakers.State.CLOSED));
+        assertThat(call().getStatusCode().is2xxSuccessful()).isTrue();
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheConcurrencyLimit() throws Exception {
+        start(20, 60_000, 2);
+        delayMillis = 150;
+
+        CompletableFuture<ResponseEntity<String>> first = client.get(null, "token", tokenUrl, new HttpHeaders()).toFuture();
+        CompletableFuture<ResponseEntity<String>> second = client.get(null, "token", tokenUrl, new HttpHeaders()).toFuture();
+
+        assertThatThrownBy(this::call).isInstanceOf(IdpUnavailableException.class);
+
+        assertThat(first.get().getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(second.get().getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(call().getStatusCode().is2xxSuccessful()).isTrue();
+    }
+
+    private ResponseEntity<String> call() {
+        return client.get(null, "token", tokenUrl, new HttpHeaders()).block();
+    }
+}
@@ -0,0 +1,93 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.model.Tenant;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoginPageServiceTest {
+
+    private final Tenant tenant = Tenant.builder().id(7L).subdomain("acme").name("Acme").build();
+    private final SsoProviderService providers = mock(SsoProviderService.class);
+    private final LoginPageService service;
+
+    LoginPageServiceTest() {
+        when(providers.providers(tenant)).thenReturn(List.of(
+                new SsoProviderOption(SSOProvider.JWT, false, "/sso/jwt/login"),
+                new SsoProviderOption(SSOProvider.SAML, true, "/sso/saml/login")));
+        service = new LoginPageService(providers, 60_000);
+    }
+
+    @Test
+    void inlinesEnabledProvidersOnly() throws IOException {
+        LoginPageService.Page page = service.page("acme", () -> tenant);
+
+        String html = new String(page.html(), StandardCharsets.UTF_8);
+        assertThat(html).contains("data-rendered=\"server\"")
+                .contains("href=\"/sso/saml/login\"")
+                .doesNotContain("href=\"/sso/jwt/login\"");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(page.gzipped()))) {
+            assertThat(in.readAllBytes()).isEqualTo(page.html());
+        }
+        assertThat(page.gzipEtag()).isNotEqualTo(page.etag());
+    }
+
+    @Test
+    void rendersOncePerTenantUntilConfigChanges() {
+        AtomicInteger lookups = new AtomicInteger();
+        LoginPageService.Page first = service.page("acme", () -> { lookups.incrementAndGet(); return tenant; });
+        LoginPageService.Page second = service.page("acme", () -> { lookups.incrementAndGet(); return tenant; });
+
+        assertThat(second).isSameAs(first);
+        assertThat(lookups).hasValue(1);
+
+        service.onConfigChanged(new SSOConfigChangedEvent(1L, 7L, SSOProvider.SAML, null));
+
+        assertThat(service.page("acme", () -> tenant)).isNotSameAs(first);
+    }
+
+    @Test
+    void aRenderOverlappingAConfigChangeIsNotCached() {
+        AtomicInteger renders = new AtomicInteger();
+        when(providers.providers(tenant)).thenAnswer(invocation -> {
+            if (renders.incrementAndGet() == 1) {
+                service.onConfigChanged(new SSOConfigChangedEvent(1L, 7L, SSOProvider.SAML, null));
+            }
+            return List.of(new SsoProviderOption(SSOProvider.SAML, true, "/sso/saml/login"));
+        });
+
+        service.page("acme", () -> tenant);
+        service.page("acme", () -> tenant);
+        service.page("acme", () -> tenant);
+
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void expiredPagesAreRenderedAgain() {
+        LoginPageService noTtl = new LoginPageService(providers, 0);
+        AtomicInteger lookups = new AtomicInteger();
+
+        noTtl.page("acme", () -> { lookups.incrementAndGet(); return tenant; });
+        noTtl.page("acme", () -> { lookups.incrementAndGet(); return tenant; });
+
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    void unknownTenantGetsTheStaticPage() {
+        LoginPageService.Page page = service.page("nobody", () -> null);
+
+        assertThat(new String(page.html(), StandardCharsets.UTF_8)).contains(LoginPageService.PROVIDERS_SLOT);
+    }
+}
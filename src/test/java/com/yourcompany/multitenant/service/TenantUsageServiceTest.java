@@ -0,0 +1,82 @@
+package com.yourcompany.multitenant.service;
+
+import com.yourcompany.multitenant.config.TenantFilter;
+import com.yourcompany.multitenant.model.SSOProvider;
+import com.yourcompany.multitenant.model.Tenant;
+import com.yourcompany.multitenant.repository.TenantRepository;
+import com.yourcompany.multitenant.repository.TenantUsageRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class TenantUsageServiceTest {
+
+    private final Tenant root = Tenant.builder().id(1L).subdomain("").name("Platform").build();
+    private final Tenant acme = Tenant.builder().id(7L).subdomain("acme").name("Acme").build();
+    private final TenantUsageRepository usageRepository = mock(TenantUsageRepository.class);
+    private final TenantRepository tenantRepository = mock(TenantRepository.class);
+    private final TenantUsageService service = new TenantUsageService(usageRepository, tenantRepository, 400);
+
+    TenantUsageServiceTest() {
+        when(tenantRepository.findAll()).thenReturn(List.of(root, acme));
+    }
+
+    @Test
+    void eachFlushWritesOnlyWhatAccumulatedSinceThePreviousOne() {
+        service.flush(); // learns which tenants exist
+
+        service.recordRequest("acme", 5L);
+        service.recordRequest("ACME", 5L);
+        service.recordRequest(TenantFilter.SUPER_ADMIN_ID, null);
+        service.recordSsoLogin(acme, SSOProvider.SAML, 6L);
+        service.flush();
+        verify(usageRepository).accumulate(eq(7L), any(Instant.class), eq(2L), eq(0L), eq(0L), eq(0L), eq(1L), eq(2));
+        verify(usageRepository).accumulate(eq(1L), any(Instant.class), eq(1L), eq(0L), eq(0L), eq(0L), eq(0L), eq(0));
+
+        service.recordRequest("acme", 5L);
+        service.recordLogin(acme, 8L);
+        service.flush();
+        verify(usageRepository).accumulate(eq(7L), any(Instant.class), eq(1L), eq(1L), eq(0L), eq(0L), eq(0L), eq(3));
+
+        service.flush();
+        verifyNoMoreInteractions(usageRepository);
+    }
+
+    @Test
+    void aFailedWriteIsRetriedWithItsDeltaOnTheNextFlush() {
+        service.flush();
+        when(usageRepository.accumulate(eq(7L), any(Instant.class), anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyInt()))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(1);
+
+        service.recordRequest("acme", 5L);
+        service.flush();
+        service.recordRequest("acme", 5L);
+        service.flush();
+
+        verify(usageRepository).accumulate(eq(7L), any(Instant.class), eq(1L), eq(0L), eq(0L), eq(0L), eq(0L), eq(1));
+        verify(usageRepository).accumulate(eq(7L), any(Instant.class), eq(2L), eq(0L), eq(0L), eq(0L), eq(0L), eq(1));
+    }
+
+    @Test
+    void requestsForUnknownHostsAreNotCounted() {
+        service.recordRequest("acme", null); // before the first flush nothing is known yet
+        service.flush();
+        service.recordRequest("x1f9c2", 5L);
+        service.flush();
+
+        verify(usageRepository, never()).accumulate(anyLong(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyInt());
+    }
+}